@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+#
+# 统计假人导致的数据包内存分配, 用于比较无头模式 (`headless`) 开启前后的差异
+# 需要 JDK 21 或以上的 jcmd 以及 jfr
+#
+# 步骤:
+#   1. 在 config.yml 中设置 `headless: false`, 启动服务器
+#   2. 在同一个位置召唤一批假人, 例如 `/fp spawn --count 50`, 附近放一些会移动的生物
+#   3. 执行 `headless-allocation.sh <服务器 PID>`, 同时在游戏中执行 `/fp netstats reset` 以及录制结束时执行 `/fp netstats`
+#   4. 设置 `headless: true`, 重启服务器, 重复第 2、3 步
+#   5. 比较两次输出中 Clientbound*Packet、FriendlyByteBuf 以及 ByteBuf 相关的行
+#
+# Records allocations caused by fake players' packets, to compare headless mode (`headless`) on and off
+# Requires jcmd and jfr from JDK 21 or later
+#
+# Steps:
+#   1. Set `headless: false` in config.yml and start the server
+#   2. Spawn a batch of fake players at one place, e.g. `/fp spawn --count 50`, with some moving mobs nearby
+#   3. Run `headless-allocation.sh <server PID>`, run `/fp netstats reset` in game meanwhile and `/fp netstats` when recording ends
+#   4. Set `headless: true`, restart the server and repeat steps 2 and 3
+#   5. Compare the Clientbound*Packet, FriendlyByteBuf and ByteBuf rows of both outputs
+#
+# 用法 / Usage: headless-allocation.sh <pid> [seconds]
+
+set -euo pipefail
+
+if [ $# -lt 1 ]; then
+  echo "usage: $0 <pid> [seconds]" >&2
+  exit 1
+fi
+
+pid=$1
+seconds=${2:-60}
+file=$(mktemp --suffix=.jfr)
+
+jcmd "$pid" JFR.start name=fakeplayer-headless settings=profile duration="${seconds}s" filename="$file" > /dev/null
+echo "recording ${seconds}s to $file"
+sleep $((seconds + 5))
+
+jfr view --width 200 allocation-by-class "$file"
+jfr view --width 200 allocation-by-site "$file"
@@ -0,0 +1,37 @@
+package io.github.hello09x.fakeplayer.api.network;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * 假人收到的数据包统计
+ * <p>通过 {@link org.bukkit.plugin.ServicesManager} 获取:</p>
+ * <pre>{@code
+ * var statistics = Bukkit.getServicesManager().load(FakePlayerPacketStatistics.class);
+ * }</pre>
+ */
+public interface FakePlayerPacketStatistics {
+
+    /**
+     * @param top 数量
+     * @return 估算总大小最高的数据包类型
+     */
+    @NotNull List<PacketStatistic> getTop(int top);
+
+    /**
+     * @return 所有数据包的数量
+     */
+    long getTotalCount();
+
+    /**
+     * @return 统计开始的时间
+     */
+    long getSince();
+
+    /**
+     * 清空统计
+     */
+    void reset();
+
+}
@@ -0,0 +1,40 @@
+package io.github.hello09x.fakeplayer.api.network;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 一种数据包的统计
+ *
+ * @param name         数据包类型名称
+ * @param count        数量
+ * @param samples      抽样数量
+ * @param sampledBytes 抽样的总大小
+ */
+public record PacketStatistic(
+
+        @NotNull
+        String name,
+
+        long count,
+
+        long samples,
+
+        long sampledBytes
+
+) {
+
+    /**
+     * @return 平均大小, 没有抽样时为 0
+     */
+    public long averageBytes() {
+        return this.samples == 0 ? 0 : this.sampledBytes / this.samples;
+    }
+
+    /**
+     * @return 估算的总大小
+     */
+    public long estimatedBytes() {
+        return this.averageBytes() * this.count;
+    }
+
+}
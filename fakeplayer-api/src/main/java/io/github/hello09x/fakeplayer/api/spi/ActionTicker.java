@@ -19,4 +19,22 @@ public interface ActionTicker {
      */
     void stop();
 
+    /**
+     * 获取执行完本次 {@link #tick()} 后可以跳过的 tick 数
+     * <p>跳过的 tick 不会调用 {@link #tick()} 和 {@link #inactiveTick()}, 因此只有在这些 tick 中什么都不需要做时才能返回大于 0 的值</p>
+     *
+     * @return 可以跳过的 tick 数
+     */
+    default int sleepTicks() {
+        return 0;
+    }
+
+    /**
+     * 在跳过若干个 tick 后, 下一次 {@link #tick()} 之前调用
+     *
+     * @param ticks 跳过的 tick 数
+     */
+    default void skip(int ticks) {
+    }
+
 }
@@ -202,4 +202,12 @@ public interface NMSServerPlayer {
      */
     void swapItemWithOffhand();
 
+    /**
+     * 在所在世界重新登记玩家, 尝试在不穿越维度的情况下获得刷怪能力
+     * <p>只代表重新登记的调用成功, 不保证假人一定获得刷怪能力</p>
+     *
+     * @return 是否成功, 失败时需要穿越一次维度
+     */
+    boolean rejoinLevel();
+
 }
@@ -7,6 +7,8 @@ import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.manager.invsee.DefaultInvseeImpl;
 import io.github.hello09x.fakeplayer.core.manager.invsee.Invsee;
 import io.github.hello09x.fakeplayer.core.manager.invsee.OpenInvInvseeImpl;
+import io.github.hello09x.fakeplayer.core.manager.skin.MojangSkinResolver;
+import io.github.hello09x.fakeplayer.core.manager.skin.SkinResolver;
 import org.bukkit.Bukkit;
 
 import java.util.ServiceLoader;
@@ -21,6 +23,7 @@ public class FakeplayerGuiceModule extends AbstractModule {
         super.bind(FakeplayerConfig.class).toProvider(this::fakeplayerConfig);
         super.bind(Invsee.class).toProvider(this::invsee);
         super.bind(NMSBridge.class).toInstance(nmsBridge());
+        super.bind(SkinResolver.class).to(MojangSkinResolver.class);
     }
 
     private FakeplayerConfig fakeplayerConfig() {
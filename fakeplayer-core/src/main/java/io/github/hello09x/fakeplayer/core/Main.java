@@ -6,16 +6,23 @@ import com.google.inject.Injector;
 import io.github.hello09x.bedrock.i18n.I18n;
 import io.github.hello09x.bedrock.i18n.I18nSupported;
 import io.github.hello09x.bedrock.util.RegistrablePlugin;
+import io.github.hello09x.fakeplayer.api.network.FakePlayerPacketStatistics;
 import io.github.hello09x.fakeplayer.api.spi.NMSBridge;
 import io.github.hello09x.fakeplayer.core.command.CommandRegistry;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.listener.FakeplayerListener;
 import io.github.hello09x.fakeplayer.core.listener.PlayerListeners;
 import io.github.hello09x.fakeplayer.core.listener.ReplenishListener;
+import io.github.hello09x.fakeplayer.core.manager.LoadSheddingManager;
+import io.github.hello09x.fakeplayer.core.manager.PacketStatistics;
+import io.github.hello09x.fakeplayer.core.manager.PluginMessageForwarder;
+import io.github.hello09x.fakeplayer.core.manager.RosterRestorer;
 import io.github.hello09x.fakeplayer.core.manager.WildFakeplayerManager;
+import io.github.hello09x.fakeplayer.core.manager.skin.SkinCache;
 import io.github.hello09x.fakeplayer.core.util.update.UpdateChecker;
 import lombok.Getter;
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.ServicePriority;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.CompletableFuture;
@@ -44,6 +51,24 @@ public final class Main extends RegistrablePlugin implements I18nSupported {
     @Inject
     ReplenishListener replenishListener;
 
+    @Inject
+    LoadSheddingManager loadSheddingManager;
+
+    @Inject
+    PluginMessageForwarder pluginMessageForwarder;
+
+    /**
+     * 启动时载入皮肤缓存
+     */
+    @Inject
+    SkinCache skinCache;
+
+    /**
+     * 启动后恢复关服前的假人
+     */
+    @Inject
+    RosterRestorer rosterRestorer;
+
     @Override
     public void onLoad() {
         instance = this;
@@ -66,6 +91,13 @@ public final class Main extends RegistrablePlugin implements I18nSupported {
             manager.registerEvents(playerListeners, this);
             manager.registerEvents(fakeplayerListener, this);
             manager.registerEvents(replenishListener, this);
+            manager.registerEvents(loadSheddingManager, this);
+            manager.registerEvents(pluginMessageForwarder, this);
+        }
+
+        {
+            var services = getServer().getServicesManager();
+            services.register(FakePlayerPacketStatistics.class, injector.getInstance(PacketStatistics.class), this, ServicePriority.Normal);
         }
 
         if (config.isCheckForUpdates()) {
@@ -3,11 +3,13 @@ package io.github.hello09x.fakeplayer.core.command;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import dev.jorel.commandapi.CommandPermission;
+import dev.jorel.commandapi.arguments.IntegerArgument;
 import io.github.hello09x.bedrock.command.Usage;
 import io.github.hello09x.bedrock.i18n.I18n;
 import io.github.hello09x.fakeplayer.api.spi.Action;
 import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.command.impl.*;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.constant.Direction;
 import io.github.hello09x.fakeplayer.core.manager.invsee.Invsee;
 import io.github.hello09x.fakeplayer.core.repository.model.Config;
@@ -25,7 +27,9 @@ import static io.github.hello09x.fakeplayer.core.command.CommandSupports.*;
 public class CommandRegistry {
 
     private final static I18n i18n = Main.getI18n();
-    
+
+    @Inject
+    private FakeplayerConfig config;
     @Inject
     private ActionCommand actionCommand;
     @Inject
@@ -37,6 +41,8 @@ public class CommandRegistry {
     @Inject
     private ExpmeCommand expmeCommand;
     @Inject
+    private HibernateCommand hibernateCommand;
+    @Inject
     private HoldCommand holdCommand;
     @Inject
     private InvseeCommand invseeCommand;
@@ -45,6 +51,8 @@ public class CommandRegistry {
     @Inject
     private KillallCommand killallCommand;
     @Inject
+    private LifespanCommand lifespanCommand;
+    @Inject
     private ListCommand listCommand;
     @Inject
     private MoveCommand moveCommand;
@@ -53,6 +61,10 @@ public class CommandRegistry {
     @Inject 
     private RespawnCommand respawnCommand;
     @Inject
+    private NetstatsCommand netstatsCommand;
+    @Inject
+    private ProfileCommand profileCommand;
+    @Inject
     private RideCommand rideCommand;
     @Inject
     private RotationCommand rotationCommand;
@@ -69,6 +81,8 @@ public class CommandRegistry {
     @Inject
     private SpawnCommand spawnCommand;
     @Inject
+    private StatsCommand statsCommand;
+    @Inject
     private StatusCommand statusCommand;
     @Inject
     private SwapCommand swapCommand;
@@ -95,6 +109,7 @@ public class CommandRegistry {
                                 Usage.of("spawn", i18n.asString("fakeplayer.command.spawn.description"), Permission.spawn),
                                 Usage.of("kill", i18n.asString("fakeplayer.command.kill.description"), Permission.kill),
                                 Usage.of("killall", i18n.asString("fakeplayer.command.killall.description"), Permission.op),
+                                Usage.of("lifespan", i18n.asString("fakeplayer.command.lifespan.description"), Permission.op),
                                 Usage.of("list", i18n.asString("fakeplayer.command.list.description"), Permission.list),
                                 Usage.of("distance", i18n.asString("fakeplayer.command.distance.description"), Permission.distance),
                                 Usage.of("drop", i18n.asString("fakeplayer.command.drop.description"), Permission.drop),
@@ -104,6 +119,7 @@ public class CommandRegistry {
                                 Usage.of("invsee", i18n.asString("fakeplayer.command.invsee.description"), Permission.invsee),
                                 Usage.of("sleep", i18n.asString("fakeplayer.command.sleep.description"), Permission.sleep),
                                 Usage.of("wakeup", i18n.asString("fakeplayer.command.wakeup.description"), Permission.wakeup),
+                                Usage.of("hibernate", i18n.asString("fakeplayer.command.hibernate.description"), Permission.hibernate),
                                 Usage.of("status", i18n.asString("fakeplayer.command.status.description"), Permission.status),
                                 Usage.of("respawn", i18n.asString("fakeplayer.command.respawn.description"), Permission.respawn, CommandSupports::hasDeadTarget),
                                 Usage.of("tp", i18n.asString("fakeplayer.command.tp.description"), Permission.tp),
@@ -124,6 +140,9 @@ public class CommandRegistry {
                                 Usage.of("swap", i18n.asString("fakeplayer.command.swap.description"), Permission.swap),
                                 Usage.of("hold", i18n.asString("fakeplayer.command.hold.description"), Permission.hold),
                                 Usage.of("cmd", i18n.asString("fakeplayer.command.cmd.description"), Permission.cmd),
+                                Usage.of("stats", i18n.asString("fakeplayer.command.stats.description"), Permission.op),
+                                Usage.of("profile", i18n.asString("fakeplayer.command.profile.description"), Permission.op),
+                                Usage.of("netstats", i18n.asString("fakeplayer.command.netstats.description"), Permission.op),
                                 Usage.of("reload", i18n.asString("fakeplayer.command.reload.description"), Permission.op)
                         ),
 
@@ -139,6 +158,15 @@ public class CommandRegistry {
 
                         command("spawn")
                                 .withPermission(Permission.spawn)
+                                .withSubcommands(
+                                        command("--count")
+                                                .withPermission(Permission.spawnCount)
+                                                .withArguments(int32("count", 1, config.getSpawnMaxCount()))
+                                                .withOptionalArguments(
+                                                        world("world").withPermission(Permission.spawnLocation),
+                                                        location("location").withPermission(Permission.spawnLocation))
+                                                .executes(spawnCommand::spawnBatch)
+                                )
                                 .withOptionalArguments(
                                         text("name").withPermission(Permission.spawnName),
                                         world("world").withPermission(Permission.spawnLocation),
@@ -409,6 +437,13 @@ public class CommandRegistry {
                                 .withRequirement(CommandSupports::hasTarget)
                                 .withOptionalArguments(target("name", LivingEntity::isSleeping))
                                 .executes(sleepCommand::wakeup),
+                        command("hibernate")
+                                .withPermission(Permission.hibernate)
+                                .withRequirement(CommandSupports::hasTarget)
+                                .withOptionalArguments(
+                                        target("name"),
+                                        literals("hibernating", List.of("true", "false")))
+                                .executes(hibernateCommand::hibernate),
 
                         command("cmd")
                                 .withRequirement(CommandSupports::isCmdAvailable)
@@ -421,6 +456,55 @@ public class CommandRegistry {
                         command("killall")
                                 .withPermission(CommandPermission.OP)
                                 .executes(killallCommand::killall),
+                        command("lifespan")
+                                .withPermission(CommandPermission.OP)
+                                .withRequirement(CommandSupports::hasTarget)
+                                .withSubcommands(
+                                        command("add")
+                                                .withArguments(new IntegerArgument("minutes"))
+                                                .withOptionalArguments(target("name"))
+                                                .executes(lifespanCommand::add),
+                                        command("set")
+                                                .withArguments(int32("minutes", 0))
+                                                .withOptionalArguments(target("name"))
+                                                .executes(lifespanCommand::set)
+                                )
+                                .withOptionalArguments(target("name"))
+                                .executes(lifespanCommand::lifespan),
+                        command("stats")
+                                .withPermission(CommandPermission.OP)
+                                .withSubcommands(
+                                        command("tick")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(statsCommand::tick),
+                                        command("spawn")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(statsCommand::spawn),
+                                        command("async")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(statsCommand::async)
+                                ),
+                        command("profile")
+                                .withPermission(CommandPermission.OP)
+                                .withSubcommands(
+                                        command("start")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(profileCommand::start),
+                                        command("stop")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(profileCommand::stop)
+                                )
+                                .withOptionalArguments(int32("top", 1))
+                                .executes(profileCommand::profile),
+                        command("netstats")
+                                .withPermission(CommandPermission.OP)
+                                .withSubcommands(
+                                        command("reset")
+                                                .withPermission(CommandPermission.OP)
+                                                .executes(netstatsCommand::reset)
+                                )
+                                .withOptionalArguments(int32("top", 1))
+                                .executes(netstatsCommand::netstats),
                         command("reload")
                                 .withPermission(CommandPermission.OP)
                                 .executes(reloadCommand::reload)
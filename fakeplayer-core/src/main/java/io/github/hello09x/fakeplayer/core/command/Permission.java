@@ -5,6 +5,7 @@ public interface Permission {
     String spawn = "fakeplayer.command.spawn";
     String spawnName = "fakeplayer.command.spawn.name";
     String spawnLocation = "fakeplayer.command.spawn.location";
+    String spawnCount = "fakeplayer.command.spawn.count";
 
     String select = "fakeplayer.command.select";
     String selection = "fakeplayer.command.selection";
@@ -40,6 +41,7 @@ public interface Permission {
     String replenishFromChest = "fakeplayer.config.replenish.chest";
     String sleep = "fakeplayer.command.sleep";
     String wakeup = "fakeplayer.command.wakeup";
+    String hibernate = "fakeplayer.command.hibernate";
     String cmd = "fakeplayer.command.cmd";
 
 
@@ -2,10 +2,12 @@ package io.github.hello09x.fakeplayer.core.command.impl;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandArguments;
 import dev.jorel.commandapi.executors.CommandExecutor;
 import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.manager.LoadSheddingManager;
 import io.github.hello09x.fakeplayer.core.manager.action.ActionManager;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.command.CommandSender;
@@ -20,9 +22,12 @@ public class ActionCommand extends AbstractCommand {
 
     private final ActionManager actionManager;
 
+    private final LoadSheddingManager loadShedding;
+
     @Inject
-    public ActionCommand(ActionManager actionManager) {
+    public ActionCommand(ActionManager actionManager, LoadSheddingManager loadShedding) {
         this.actionManager = actionManager;
+        this.loadShedding = loadShedding;
     }
 
     public @NotNull CommandExecutor action(@NotNull Action.ActionType action, @NotNull Action.ActionSetting setting) {
@@ -39,6 +44,9 @@ public class ActionCommand extends AbstractCommand {
             @NotNull Action.ActionSetting setting
     ) throws WrapperCommandSyntaxException {
         var target = super.getTarget(sender, args);
+        if (loadShedding.isStoppingActions() && !setting.equals(Action.ActionSetting.stop())) {
+            throw CommandAPI.failWithString(i18n.asString("fakeplayer.command.action.error.load-shedding"));
+        }
         actionManager.setAction(target, action, setting);
 
         String translationKey;
@@ -6,7 +6,6 @@ import dev.jorel.commandapi.CommandAPI;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandArguments;
 import io.github.hello09x.bedrock.util.Components;
-import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.manager.UserConfigManager;
 import io.github.hello09x.fakeplayer.core.repository.model.Config;
 import lombok.AccessLevel;
@@ -14,7 +13,6 @@ import lombok.NoArgsConstructor;
 import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.format.Style;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
-import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -22,7 +20,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Objects;
-import java.util.concurrent.CompletableFuture;
 
 import static net.kyori.adventure.text.Component.*;
 import static net.kyori.adventure.text.event.ClickEvent.runCommand;
@@ -63,7 +60,7 @@ public class ConfigCommand extends AbstractCommand {
      * 获取所有配置
      */
     public void listConfig(@NotNull CommandSender sender, @NotNull CommandArguments args) {
-        CompletableFuture.runAsync(() -> {
+        scheduler.run(scheduler.asyncExecutor(), () -> {
             var components = Arrays.stream(Config.values()).map(config -> {
                 var options = new ArrayList<>(config.options());
                 var value = String.valueOf(configManager.getConfig(sender, config));
@@ -80,7 +77,7 @@ public class ConfigCommand extends AbstractCommand {
             }).toList();
 
             var message = Components.join(components, newline());
-            Bukkit.getScheduler().runTask(Main.getInstance(), () -> sender.sendMessage(message));
+            scheduler.runTask(() -> sender.sendMessage(message));
         });
     }
 
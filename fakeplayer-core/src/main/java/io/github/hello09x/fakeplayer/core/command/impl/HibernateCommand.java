@@ -0,0 +1,35 @@
+package io.github.hello09x.fakeplayer.core.command.impl;
+
+import com.google.inject.Singleton;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+import dev.jorel.commandapi.executors.CommandArguments;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+
+@Singleton
+public class HibernateCommand extends AbstractCommand {
+
+    /**
+     * 设置休眠
+     */
+    public void hibernate(@NotNull CommandSender sender, @NotNull CommandArguments args) throws WrapperCommandSyntaxException {
+        var target = getTarget(sender, args);
+        var hibernating = args
+                .getOptional("hibernating")
+                .map(String.class::cast)
+                .map(Boolean::valueOf)
+                .orElse(!manager.isHibernating(target));
+
+        manager.setHibernating(target, hibernating);
+        sender.sendMessage(i18n.translate(
+                hibernating ? "fakeplayer.command.hibernate.success.hibernate" : "fakeplayer.command.hibernate.success.resume", GRAY,
+                Placeholder.component("name", text(target.getName(), WHITE))
+        ));
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.github.hello09x.fakeplayer.core.command.impl;
+
+import com.google.inject.Singleton;
+import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
+import dev.jorel.commandapi.executors.CommandArguments;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Objects;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+
+@Singleton
+public class LifespanCommand extends AbstractCommand {
+
+    private final static DateTimeFormatter REMOVE_AT_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm").withZone(ZoneId.systemDefault());
+
+    private final static long MILLIS_PER_MINUTE = 60_000L;
+
+    /**
+     * 查看假人的存活时间
+     */
+    public void lifespan(@NotNull CommandSender sender, @NotNull CommandArguments args) throws WrapperCommandSyntaxException {
+        var target = getTarget(sender, args);
+        this.sendLifespan(sender, target);
+    }
+
+    /**
+     * 延长或者缩短假人的存活时间
+     * <p>永久存活的假人从当前时间开始计算</p>
+     */
+    public void add(@NotNull CommandSender sender, @NotNull CommandArguments args) throws WrapperCommandSyntaxException {
+        var target = getTarget(sender, args);
+        var minutes = (int) Objects.requireNonNull(args.get("minutes"));
+        var removeAt = Objects.requireNonNullElseGet(manager.getRemoveAt(target), System::currentTimeMillis);
+
+        manager.setRemoveAt(target, Math.max(1, removeAt + minutes * MILLIS_PER_MINUTE));
+        this.sendLifespan(sender, target);
+    }
+
+    /**
+     * 设置假人从现在开始的存活时间, 为 0 时表示永久存活
+     */
+    public void set(@NotNull CommandSender sender, @NotNull CommandArguments args) throws WrapperCommandSyntaxException {
+        var target = getTarget(sender, args);
+        var minutes = (int) Objects.requireNonNull(args.get("minutes"));
+
+        manager.setRemoveAt(target, minutes == 0 ? 0 : System.currentTimeMillis() + minutes * MILLIS_PER_MINUTE);
+        this.sendLifespan(sender, target);
+    }
+
+    private void sendLifespan(@NotNull CommandSender sender, @NotNull Player target) {
+        var removeAt = manager.getRemoveAt(target);
+        if (removeAt == null) {
+            sender.sendMessage(i18n.translate(
+                    "fakeplayer.command.lifespan.permanent", GRAY,
+                    Placeholder.component("name", text(target.getName(), WHITE))
+            ));
+        } else {
+            sender.sendMessage(i18n.translate(
+                    "fakeplayer.command.lifespan.remove-at", GRAY,
+                    Placeholder.component("name", text(target.getName(), WHITE)),
+                    Placeholder.component("remove-at", text(REMOVE_AT_FORMATTER.format(Instant.ofEpochMilli(removeAt)), WHITE))
+            ));
+        }
+    }
+
+}
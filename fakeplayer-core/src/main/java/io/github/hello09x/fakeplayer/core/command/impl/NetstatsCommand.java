@@ -0,0 +1,74 @@
+package io.github.hello09x.fakeplayer.core.command.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.hello09x.fakeplayer.core.manager.PacketStatistics;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+
+import static net.kyori.adventure.text.Component.join;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.*;
+
+@Singleton
+public class NetstatsCommand extends AbstractCommand {
+
+    private final PacketStatistics statistics;
+
+    @Inject
+    public NetstatsCommand(PacketStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    private static @NotNull Component bytes(long bytes) {
+        if (bytes >= 1024 * 1024) {
+            return text("%.2fMiB".formatted(bytes / 1024D / 1024D), WHITE);
+        }
+        if (bytes >= 1024) {
+            return text("%.2fKiB".formatted(bytes / 1024D), WHITE);
+        }
+        return text(bytes + "B", WHITE);
+    }
+
+    /**
+     * 查看假人收到的数据包统计
+     */
+    public void netstats(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var top = (int) args.getOptional("top").orElse(10);
+        var seconds = Math.max(1, (System.currentTimeMillis() - statistics.getSince()) / 1000);
+
+        var lines = new ArrayList<Component>(top + 1);
+        lines.add(i18n.translate(
+                "fakeplayer.command.netstats.title", GRAY,
+                Placeholder.component("count", text(statistics.getTotalCount(), WHITE)),
+                Placeholder.component("seconds", text(seconds, WHITE))
+        ));
+        for (var stat : statistics.getTop(top)) {
+            lines.add(i18n.translate(
+                    "fakeplayer.command.netstats.packet", WHITE,
+                    Placeholder.component("name", text(stat.name(), GOLD)),
+                    Placeholder.component("count", text(stat.count(), WHITE)),
+                    Placeholder.component("rate", text("%.1f".formatted(stat.count() / (double) seconds), WHITE)),
+                    Placeholder.component("average", bytes(stat.averageBytes())),
+                    Placeholder.component("total", bytes(stat.estimatedBytes()))
+            ));
+        }
+
+        sender.sendMessage(join(JoinConfiguration.newlines(), lines));
+    }
+
+    /**
+     * 清空数据包统计
+     */
+    public void reset(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        statistics.reset();
+        sender.sendMessage(i18n.translate("fakeplayer.command.netstats.success.reset", GRAY));
+    }
+
+}
@@ -0,0 +1,111 @@
+package io.github.hello09x.fakeplayer.core.command.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.manager.TickProfiler;
+import io.github.hello09x.fakeplayer.core.util.RollingHistogram;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+
+import static net.kyori.adventure.text.Component.join;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.*;
+
+@Singleton
+public class ProfileCommand extends AbstractCommand {
+
+    private final TickProfiler profiler;
+
+    @Inject
+    public ProfileCommand(TickProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    private static @NotNull Component micros(long nanos) {
+        return text("%.1fμs".formatted(nanos / 1_000D), WHITE);
+    }
+
+    private static @NotNull Component breakdown(@NotNull Map<Action.ActionType, RollingHistogram> actions) {
+        var parts = new ArrayList<Component>(actions.size());
+        for (var entry : actions.entrySet()) {
+            if (entry.getValue().count() == 0) {
+                continue;
+            }
+            parts.add(text(entry.getKey().name().toLowerCase() + ": ", GRAY).append(micros(entry.getValue().mean())));
+        }
+        return join(JoinConfiguration.commas(true), parts);
+    }
+
+    /**
+     * 开启耗时采样
+     */
+    public void start(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        profiler.setEnabled(true);
+        sender.sendMessage(i18n.translate("fakeplayer.command.profile.success.start", GRAY));
+    }
+
+    /**
+     * 关闭耗时采样
+     */
+    public void stop(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        profiler.setEnabled(false);
+        sender.sendMessage(i18n.translate("fakeplayer.command.profile.success.stop", GRAY));
+    }
+
+    /**
+     * 查看耗时最高的假人
+     */
+    public void profile(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        if (!profiler.isEnabled()) {
+            sender.sendMessage(i18n.translate("fakeplayer.command.profile.error.disabled", GRAY));
+            return;
+        }
+
+        var top = (int) args.getOptional("top").orElse(10);
+        var lines = new ArrayList<Component>(top * 2 + 2);
+        lines.add(i18n.translate("fakeplayer.command.profile.title", GRAY));
+        lines.add(i18n.translate(
+                "fakeplayer.command.profile.actions", GRAY,
+                Placeholder.component("actions", breakdown(profiler.getActions()))
+        ));
+
+        var rank = 0;
+        for (var profile : profiler.getTop(top)) {
+            var player = Bukkit.getPlayer(profile.getUuid());
+            if (player == null) {
+                continue;
+            }
+            var tick = profile.getTick();
+            lines.add(i18n.translate(
+                    "fakeplayer.command.profile.player", WHITE,
+                    Placeholder.component("rank", text(++rank, GOLD)),
+                    Placeholder.component("name", text(player.getName(), GOLD)),
+                    Placeholder.component("creator", text(Objects.toString(manager.getCreatorName(player), "-"), WHITE)),
+                    Placeholder.component("mean", micros(tick.mean())),
+                    Placeholder.component("p99", micros(tick.percentile(0.99)))
+            ));
+            if (!profile.getActions().isEmpty()) {
+                lines.add(i18n.translate(
+                        "fakeplayer.command.profile.actions", GRAY,
+                        Placeholder.component("actions", breakdown(profile.getActions()))
+                ));
+            }
+        }
+
+        if (rank == 0) {
+            lines.add(i18n.translate("fakeplayer.command.profile.empty", GRAY));
+        }
+        sender.sendMessage(join(JoinConfiguration.newlines(), lines));
+    }
+
+}
@@ -1,29 +1,31 @@
 package io.github.hello09x.fakeplayer.core.command.impl;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import dev.jorel.commandapi.exceptions.WrapperCommandSyntaxException;
 import dev.jorel.commandapi.executors.CommandArguments;
 import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import io.github.hello09x.fakeplayer.core.util.Skins;
 import org.apache.commons.lang3.mutable.MutableInt;
-import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static net.kyori.adventure.text.format.NamedTextColor.RED;
 
 @Singleton
 public class SkinCommand extends AbstractCommand {
 
-    private final Map<CommandSender, MutableInt> spams = new HashMap<>();
+    private final Map<CommandSender, MutableInt> spams = new ConcurrentHashMap<>();
 
-    public SkinCommand() {
-        Bukkit.getScheduler().runTaskTimer(Main.getInstance(), () -> {
+    @Inject
+    public SkinCommand(FakeplayerScheduler scheduler) {
+        scheduler.runTaskTimer(() -> {
             spams.entrySet().removeIf(counter -> counter.getValue().decrementAndGet() <= 0);
         }, 0, 1);
     }
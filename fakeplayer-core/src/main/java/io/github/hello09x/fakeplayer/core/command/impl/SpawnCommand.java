@@ -4,11 +4,12 @@ import com.google.common.base.Throwables;
 import com.google.inject.Singleton;
 import dev.jorel.commandapi.executors.CommandArguments;
 import io.github.hello09x.bedrock.command.MessageException;
-import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.entity.SpawnResult;
 import io.github.hello09x.fakeplayer.core.util.Mth;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
@@ -21,8 +22,11 @@ import org.jetbrains.annotations.NotNull;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Objects;
 import java.util.Optional;
 
+import static net.kyori.adventure.text.Component.join;
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.format.NamedTextColor.*;
 
@@ -40,35 +44,36 @@ public class SpawnCommand extends AbstractCommand {
                 Mth.floor(location.getZ(), 0.5));
     }
 
-    /**
-     * 创建假人
-     */
-    public void spawn(@NotNull CommandSender sender, @NotNull CommandArguments args) {
-        var name = (String) args.get("name");
-        if (name != null && name.isEmpty()) {
-            name = null;
-        }
+    private static @NotNull Location getSpawnpoint(@NotNull CommandSender sender, @NotNull CommandArguments args) {
         var world = (World) args.get("world");
         var location = (Location) args.get("location");
 
-        Location spawnpoint;
         if (world == null || location == null) {
-            spawnpoint = sender instanceof Player p
+            return sender instanceof Player p
                     ? p.getLocation().clone()
                     : Bukkit.getWorlds().get(0).getSpawnLocation().clone();
-        } else {
-            spawnpoint = new Location(
-                    world,
-                    location.getX(),
-                    location.getY(),
-                    location.getZ()
-            );
         }
+        return new Location(
+                world,
+                location.getX(),
+                location.getY(),
+                location.getZ()
+        );
+    }
 
+    /**
+     * 创建假人
+     */
+    public void spawn(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var name = (String) args.get("name");
+        if (name != null && name.isEmpty()) {
+            name = null;
+        }
+        var spawnpoint = getSpawnpoint(sender, args);
         var removedAt = Optional.ofNullable(config.getLifespan()).map(lifespan -> LocalDateTime.now().plus(lifespan)).orElse(null);
         try {
             manager.spawnAsync(sender, name, spawnpoint, Optional.ofNullable(config.getLifespan()).map(Duration::toMillis).orElse(-1L))
-                    .thenAcceptAsync(player -> {
+                    .thenAccept(player -> {
                         if (player == null) {
                             return;
                         }
@@ -87,18 +92,18 @@ public class SpawnCommand extends AbstractCommand {
                                     Placeholder.component("remove-at", text(REMOVE_AT_FORMATTER.format(removedAt)))
                             );
                         }
-                        Bukkit.getScheduler().runTask(Main.getInstance(), () -> {
+                        scheduler.runTask(() -> {
                             sender.sendMessage(message);
                             if (sender instanceof Player p && manager.countByCreator(sender) == 1) {
                                 // 有些命令在有假人的时候才会显示, 因此需要强制刷新一下
-                                p.updateCommands();
+                                scheduler.execute(p, p::updateCommands);
                             }
                         });
                     }).exceptionally(e -> {
                         if (Throwables.getRootCause(e) instanceof MessageException me) {
-                            Bukkit.getScheduler().runTask(Main.getInstance(), () -> sender.sendMessage(me.asComponent()));
+                            scheduler.runTask(() -> sender.sendMessage(me.asComponent()));
                         } else {
-                            Bukkit.getScheduler().runTask(Main.getInstance(), () -> sender.sendMessage(i18n.translate("fakeplayer.command.spawn.error.unknown", RED)));
+                            scheduler.runTask(() -> sender.sendMessage(i18n.translate("fakeplayer.command.spawn.error.unknown", RED)));
                             log.severe(Throwables.getStackTraceAsString(e));
                         }
                         return null;
@@ -109,5 +114,68 @@ public class SpawnCommand extends AbstractCommand {
 
     }
 
+    /**
+     * 一次创建多个假人
+     */
+    public void spawnBatch(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var count = (int) Objects.requireNonNull(args.get("count"));
+        var spawnpoint = getSpawnpoint(sender, args);
+
+        try {
+            manager.spawnBatchAsync(sender, spawnpoint, Optional.ofNullable(config.getLifespan()).map(Duration::toMillis).orElse(-1L), count)
+                    .thenAccept(results -> {
+                        var success = (int) results.stream().filter(SpawnResult::isSuccess).count();
+                        var lines = new ArrayList<Component>(results.size() - success + 2);
+                        lines.add(i18n.translate(
+                                "fakeplayer.command.spawn.batch.success", GRAY,
+                                Placeholder.component("success", text(success, WHITE)),
+                                Placeholder.component("count", text(results.size(), WHITE)),
+                                Placeholder.component("location", text(toLocationString(spawnpoint), WHITE))
+                        ));
+                        if (results.size() < count) {
+                            lines.add(i18n.translate(
+                                    "fakeplayer.command.spawn.batch.limited", GRAY,
+                                    Placeholder.component("count", text(count - results.size(), WHITE))
+                            ));
+                        }
+                        for (var result : results) {
+                            if (result.error() == null) {
+                                continue;
+                            }
+                            Component reason;
+                            if (Throwables.getRootCause(result.error()) instanceof MessageException me) {
+                                reason = me.asComponent();
+                            } else {
+                                reason = i18n.translate("fakeplayer.command.spawn.error.unknown", RED);
+                                log.severe(Throwables.getStackTraceAsString(result.error()));
+                            }
+                            lines.add(i18n.translate(
+                                    "fakeplayer.command.spawn.batch.failed", GRAY,
+                                    Placeholder.component("name", text(result.name(), WHITE)),
+                                    Placeholder.component("reason", reason)
+                            ));
+                        }
+
+                        var message = join(JoinConfiguration.newlines(), lines);
+                        scheduler.runTask(() -> {
+                            sender.sendMessage(message);
+                            if (sender instanceof Player p && success > 0 && manager.countByCreator(sender) == success) {
+                                // 有些命令在有假人的时候才会显示, 因此需要强制刷新一下
+                                scheduler.execute(p, p::updateCommands);
+                            }
+                        });
+                    }).exceptionally(e -> {
+                        if (Throwables.getRootCause(e) instanceof MessageException me) {
+                            scheduler.runTask(() -> sender.sendMessage(me.asComponent()));
+                        } else {
+                            scheduler.runTask(() -> sender.sendMessage(i18n.translate("fakeplayer.command.spawn.error.unknown", RED)));
+                            log.severe(Throwables.getStackTraceAsString(e));
+                        }
+                        return null;
+                    });
+        } catch (MessageException e) {
+            sender.sendMessage(e.asComponent());
+        }
+    }
 
 }
@@ -0,0 +1,153 @@
+package io.github.hello09x.fakeplayer.core.command.impl;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import dev.jorel.commandapi.executors.CommandArguments;
+import io.github.hello09x.fakeplayer.core.manager.LoadSheddingManager;
+import io.github.hello09x.fakeplayer.core.manager.SpawnProfiler;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerAsyncExecutor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.JoinConfiguration;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+
+import static net.kyori.adventure.text.Component.join;
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.*;
+
+@Singleton
+public class StatsCommand extends AbstractCommand {
+
+    private final LoadSheddingManager loadShedding;
+
+    private final SpawnProfiler spawnProfiler;
+
+    private final FakeplayerAsyncExecutor asyncExecutor;
+
+    @Inject
+    public StatsCommand(LoadSheddingManager loadShedding, SpawnProfiler spawnProfiler, FakeplayerAsyncExecutor asyncExecutor) {
+        this.loadShedding = loadShedding;
+        this.spawnProfiler = spawnProfiler;
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    private static @NotNull Component nanos(long nanos) {
+        return text("%.3fms".formatted(nanos / 1_000_000D), WHITE);
+    }
+
+    /**
+     * 查看假人时刻运算统计
+     */
+    public void tick(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var stats = manager.getTickStatistics();
+
+        var lines = new ArrayList<Component>(6);
+        lines.add(i18n.translate("fakeplayer.command.stats.tick.title", GRAY));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.tick.budget", WHITE,
+                Placeholder.component("budget", stats.budgetNanos() > 0
+                        ? nanos(stats.budgetNanos())
+                        : i18n.translate("fakeplayer.command.stats.tick.unlimited", GREEN))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.tick.used", WHITE,
+                Placeholder.component("last", nanos(stats.lastUsedNanos())),
+                Placeholder.component("average", nanos(stats.avgUsedNanos()))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.tick.players", WHITE,
+                Placeholder.component("ticked", text(stats.ticked(), GREEN)),
+                Placeholder.component("deferred", text(stats.deferred(), YELLOW)),
+                Placeholder.component("forced", text(stats.forced(), RED))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.tick.total", WHITE,
+                Placeholder.component("deferred", text(stats.totalDeferred(), YELLOW)),
+                Placeholder.component("forced", text(stats.totalForced(), RED))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.tick.load-shedding", WHITE,
+                Placeholder.component("stage", text(loadShedding.getStage().name(), loadShedding.getStage() == LoadSheddingManager.Stage.NORMAL ? GREEN : RED)),
+                Placeholder.component("mspt", text("%.2fms".formatted(loadShedding.getMspt()), WHITE))
+        ));
+
+        sender.sendMessage(join(JoinConfiguration.newlines(), lines));
+    }
+
+    /**
+     * 查看假人诞生各个阶段的耗时
+     */
+    public void spawn(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var stages = spawnProfiler.getStages();
+
+        var lines = new ArrayList<Component>(stages.size() + 7);
+        lines.add(i18n.translate("fakeplayer.command.stats.spawn.title", GRAY));
+        for (var entry : stages.entrySet()) {
+            var summary = entry.getValue();
+            if (summary.count() == 0) {
+                continue;
+            }
+            lines.add(i18n.translate(
+                    "fakeplayer.command.stats.spawn.stage", WHITE,
+                    Placeholder.component("stage", text(entry.getKey().name().toLowerCase(), GOLD)),
+                    Placeholder.component("count", text(summary.count(), WHITE)),
+                    Placeholder.component("average", nanos(summary.mean())),
+                    Placeholder.component("p50", nanos(summary.p50())),
+                    Placeholder.component("p99", nanos(summary.p99()))
+            ));
+        }
+        if (lines.size() == 1) {
+            lines.add(i18n.translate("fakeplayer.command.stats.spawn.empty", GRAY));
+        }
+
+        var listeners = spawnProfiler.getSlowListeners(5);
+        if (!config.isProfileSpawnListeners()) {
+            lines.add(i18n.translate("fakeplayer.command.stats.spawn.listeners-disabled", GRAY));
+        } else if (!listeners.isEmpty()) {
+            lines.add(i18n.translate("fakeplayer.command.stats.spawn.listeners", GRAY));
+            for (var listener : listeners) {
+                lines.add(i18n.translate(
+                        "fakeplayer.command.stats.spawn.listener", WHITE,
+                        Placeholder.component("plugin", text(listener.plugin(), GOLD)),
+                        Placeholder.component("event", text(listener.event(), WHITE)),
+                        Placeholder.component("average", nanos(listener.summary().mean())),
+                        Placeholder.component("p99", nanos(listener.summary().p99()))
+                ));
+            }
+        }
+
+        sender.sendMessage(join(JoinConfiguration.newlines(), lines));
+    }
+
+    /**
+     * 查看假人异步执行器的统计
+     */
+    public void async(@NotNull CommandSender sender, @NotNull CommandArguments args) {
+        var stats = asyncExecutor.getStatistics();
+
+        var lines = new ArrayList<Component>(4);
+        lines.add(i18n.translate("fakeplayer.command.stats.async.title", GRAY));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.async.running", WHITE,
+                Placeholder.component("running", text(stats.running(), GREEN)),
+                Placeholder.component("parallelism", text(stats.parallelism(), WHITE))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.async.queued", WHITE,
+                Placeholder.component("queued", text(stats.queued(), stats.queued() > 0 ? YELLOW : GREEN)),
+                Placeholder.component("peak", text(stats.peakQueued(), WHITE)),
+                Placeholder.component("wait", nanos(stats.avgWaitNanos()))
+        ));
+        lines.add(i18n.translate(
+                "fakeplayer.command.stats.async.total", WHITE,
+                Placeholder.component("completed", text(stats.completed(), GREEN)),
+                Placeholder.component("rejected", text(stats.rejected(), RED))
+        ));
+
+        sender.sendMessage(join(JoinConfiguration.newlines(), lines));
+    }
+
+}
@@ -3,6 +3,8 @@ package io.github.hello09x.fakeplayer.core.config;
 
 import io.github.hello09x.bedrock.config.Config;
 import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.constant.RemovalOrder;
+import io.github.hello09x.fakeplayer.core.constant.RestoreOrder;
 import lombok.Getter;
 import lombok.ToString;
 import org.bukkit.configuration.file.FileConfiguration;
@@ -62,9 +64,142 @@ public class FakeplayerConfig extends Config<FakeplayerConfig> {
     private boolean detectIp;
 
     /**
-     * 服务器 tps 低于这个值移除所有假人
+     * 负载保护: MSPT 高于这个值时所有假人降频运算, 小于等于 0 表示不启用这个阶段
      */
-    private int kaleTps;
+    private double throttleMspt;
+
+    /**
+     * 负载保护: MSPT 高于这个值时休眠没有动作的假人
+     */
+    private double hibernateMspt;
+
+    /**
+     * 负载保护: MSPT 高于这个值时停止所有假人的动作
+     */
+    private double stopActionsMspt;
+
+    /**
+     * 负载保护: MSPT 高于这个值时按顺序移除假人
+     */
+    private double removeMspt;
+
+    /**
+     * 负载保护: MSPT 需要低于当前阶段阈值减去这个值才会回退, 避免来回切换
+     */
+    private double sheddingHysteresis;
+
+    /**
+     * 负载保护: 每个阶段至少保持的 tick 数
+     */
+    private int sheddingHoldTicks;
+
+    /**
+     * 负载保护: 降频阶段每多少 tick 运算一次
+     */
+    private int throttleInterval;
+
+    /**
+     * 负载保护: 移除假人的顺序
+     */
+    private RemovalOrder removalOrder;
+
+    /**
+     * 每 tick 假人时刻运算的时间预算, 单位: 纳秒
+     * <p>为 0 时表示不限制</p>
+     */
+    private long tickBudgetNanos;
+
+    /**
+     * 假人最多连续被顺延的 tick 数
+     */
+    private int maxDeferredTicks;
+
+    /**
+     * 批量召唤时每 tick 诞生假人的时间预算, 单位: 纳秒
+     * <p>为 0 时表示不限制</p>
+     */
+    private long spawnBudgetNanos;
+
+    /**
+     * 批量召唤时一次最多召唤的假人数量
+     */
+    private int spawnMaxCount;
+
+    /**
+     * 准入控制: 全服每秒最多开始召唤的假人数量
+     * <p>小于等于 0 时表示不限制</p>
+     */
+    private double serverSpawnRate;
+
+    /**
+     * 准入控制: 每名创建者每秒最多开始召唤的假人数量
+     * <p>小于等于 0 时表示不限制</p>
+     */
+    private double creatorSpawnRate;
+
+    /**
+     * 准入控制: 最多排队的召唤请求数量
+     */
+    private int spawnQueueSize;
+
+    /**
+     * 异步执行器: 最多同时执行的任务数量
+     */
+    private int asyncParallelism;
+
+    /**
+     * 异步执行器: 最多排队的任务数量
+     */
+    private int asyncQueueSize;
+
+    /**
+     * 按插件统计诞生事件的监听器耗时
+     */
+    private boolean profileSpawnListeners;
+
+    /**
+     * 是否在关服时记录假人并在启动后恢复
+     */
+    private boolean restoreRoster;
+
+    /**
+     * 恢复假人: 每秒最多恢复的假人数量
+     * <p>小于等于 0 时表示不限制</p>
+     */
+    private double restoreRate;
+
+    /**
+     * 恢复假人: 恢复的顺序
+     */
+    private RestoreOrder restoreOrder;
+
+    /**
+     * 恢复假人: 等待创建者上线的最长时间
+     * <p>为 {@code null} 时表示一直等待</p>
+     */
+    @Nullable
+    private Duration restoreMaxWait;
+
+    /**
+     * 降频运算的间隔, 单位: tick
+     * <p>小于等于 1 时表示不降频</p>
+     */
+    private int lodInterval;
+
+    /**
+     * 多少个区块内没有真实玩家时降频运算
+     */
+    private int lodDistance;
+
+    /**
+     * 无头模式, 不为假人构建客户端数据包
+     */
+    private boolean headless;
+
+    /**
+     * 诞生时在区块追踪中重新登记假人来获取刷怪能力, 而不是穿越一次维度
+     */
+    private boolean rejoinWithoutHop;
 
     /**
      * 准备命令
@@ -132,7 +267,32 @@ public class FakeplayerConfig extends Config<FakeplayerConfig> {
         this.serverLimit = maxIfZero(file.getInt("server-limit", 1000));
         this.followQuiting = file.getBoolean("follow-quiting", true);
         this.detectIp = file.getBoolean("detect-ip", false);
-        this.kaleTps = file.getInt("kale-tps", 0);
+        this.throttleMspt = file.getDouble("load-shedding.throttle-mspt", 0);
+        this.hibernateMspt = file.getDouble("load-shedding.hibernate-mspt", 0);
+        this.stopActionsMspt = file.getDouble("load-shedding.stop-actions-mspt", 0);
+        this.removeMspt = getRemoveMspt(file);
+        this.sheddingHysteresis = Math.max(0, file.getDouble("load-shedding.hysteresis", 5));
+        this.sheddingHoldTicks = Math.max(1, file.getInt("load-shedding.hold-ticks", 100));
+        this.throttleInterval = Math.max(2, file.getInt("load-shedding.throttle-interval", 4));
+        this.removalOrder = getRemovalOrder(file);
+        this.tickBudgetNanos = Math.max(0, file.getLong("tick-budget-nanos", 0));
+        this.maxDeferredTicks = Math.max(0, file.getInt("max-deferred-ticks", 5));
+        this.spawnBudgetNanos = Math.max(0, file.getLong("spawn-budget-nanos", 5_000_000));
+        this.spawnMaxCount = Math.max(1, file.getInt("spawn-max-count", 64));
+        this.serverSpawnRate = file.getDouble("spawn-admission.server-rate", 10);
+        this.creatorSpawnRate = file.getDouble("spawn-admission.creator-rate", 2);
+        this.spawnQueueSize = Math.max(0, file.getInt("spawn-admission.queue-size", 32));
+        this.asyncParallelism = Math.max(1, file.getInt("async-executor.parallelism", 8));
+        this.asyncQueueSize = Math.max(1, file.getInt("async-executor.queue-size", 1024));
+        this.profileSpawnListeners = file.getBoolean("profile-spawn-listeners", false);
+        this.restoreRoster = file.getBoolean("restore.enabled", false);
+        this.restoreRate = file.getDouble("restore.rate", 2);
+        this.restoreOrder = getRestoreOrder(file);
+        this.restoreMaxWait = getRestoreMaxWait(file);
+        this.lodInterval = file.getInt("lod-interval", 1);
+        this.lodDistance = Math.max(0, file.getInt("lod-distance", 8));
+        this.headless = file.getBoolean("headless", false);
+        this.rejoinWithoutHop = file.getBoolean("rejoin-without-hop", false);
         this.selfCommands = file.getStringList("self-commands");
         this.preparingCommands = file.getStringList("preparing-commands");
         this.destroyCommands = file.getStringList("destroy-commands");
@@ -151,6 +311,48 @@ public class FakeplayerConfig extends Config<FakeplayerConfig> {
                                  .collect(Collectors.toSet());
     }
 
+    /**
+     * 兼容旧版本的 {@code kale-tps}, TPS 低于这个值等同于 MSPT 高于 1000 / kale-tps
+     */
+    private double getRemoveMspt(@NotNull FileConfiguration file) {
+        var mspt = file.getDouble("load-shedding.remove-mspt", 0);
+        if (mspt <= 0) {
+            var kaleTps = file.getInt("kale-tps", 0);
+            if (kaleTps > 0) {
+                return 1000.0 / kaleTps;
+            }
+        }
+        return mspt;
+    }
+
+    private @NotNull RemovalOrder getRemovalOrder(@NotNull FileConfiguration file) {
+        var order = file.getString("load-shedding.removal-order", RemovalOrder.NEWEST.name());
+        try {
+            return RemovalOrder.valueOf(order.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            log.warning("Invalid load-shedding.removal-order: " + order);
+            return RemovalOrder.NEWEST;
+        }
+    }
+
+    private @NotNull RestoreOrder getRestoreOrder(@NotNull FileConfiguration file) {
+        var order = file.getString("restore.order", RestoreOrder.ONLINE_FIRST.name());
+        try {
+            return RestoreOrder.valueOf(order.toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            log.warning("Invalid restore.order: " + order);
+            return RestoreOrder.ONLINE_FIRST;
+        }
+    }
+
+    private @Nullable Duration getRestoreMaxWait(@NotNull FileConfiguration file) {
+        var minutes = file.getLong("restore.max-wait", 30);
+        if (minutes <= 0) {
+            return null;
+        }
+        return Duration.ofMinutes(minutes);
+    }
+
     private @Nullable Duration getLifespan(@NotNull FileConfiguration file) {
         var minutes = file.getLong("lifespan");
         if (minutes <= 0) {
@@ -0,0 +1,23 @@
+package io.github.hello09x.fakeplayer.core.constant;
+
+/**
+ * 负载保护移除假人的优先顺序
+ */
+public enum RemovalOrder {
+
+    /**
+     * 最新创建的假人优先
+     */
+    NEWEST,
+
+    /**
+     * 没有任何动作的假人优先, 其次是最新创建的
+     */
+    IDLE,
+
+    /**
+     * 创建假人最多的玩家的假人优先, 其次是最新创建的
+     */
+    OVER_QUOTA
+
+}
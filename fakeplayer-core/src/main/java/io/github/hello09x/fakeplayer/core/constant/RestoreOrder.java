@@ -0,0 +1,18 @@
+package io.github.hello09x.fakeplayer.core.constant;
+
+/**
+ * 重启后恢复假人的优先顺序
+ */
+public enum RestoreOrder {
+
+    /**
+     * 创建者在线的假人优先, 其次是控制台创建的
+     */
+    ONLINE_FIRST,
+
+    /**
+     * 按照关服时的顺序
+     */
+    SNAPSHOT
+
+}
@@ -2,24 +2,29 @@ package io.github.hello09x.fakeplayer.core.entity;
 
 import io.github.hello09x.bedrock.command.MessageException;
 import io.github.hello09x.bedrock.i18n.I18n;
-import io.github.hello09x.bedrock.task.CompletableTask;
 import io.github.hello09x.bedrock.util.Teleportor;
 import io.github.hello09x.bedrock.util.Worlds;
 import io.github.hello09x.fakeplayer.api.event.FakePlayerSpawnEvent;
 import io.github.hello09x.fakeplayer.api.spi.Action;
 import io.github.hello09x.fakeplayer.api.spi.NMSBridge;
 import io.github.hello09x.fakeplayer.api.spi.NMSNetwork;
+import io.github.hello09x.fakeplayer.api.spi.NMSServer;
 import io.github.hello09x.fakeplayer.api.spi.NMSServerPlayer;
 import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
+import io.github.hello09x.fakeplayer.core.manager.SpawnChunkTickets;
+import io.github.hello09x.fakeplayer.core.manager.SpawnProfiler;
 import io.github.hello09x.fakeplayer.core.manager.action.ActionManager;
+import io.github.hello09x.fakeplayer.core.manager.action.ActionSlots;
 import io.github.hello09x.fakeplayer.core.manager.naming.SequenceName;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import io.github.hello09x.fakeplayer.core.util.InternalAddressGenerator;
 import io.github.hello09x.fakeplayer.core.util.Skins;
 import lombok.Getter;
 import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -29,8 +34,11 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
 
 import java.net.InetAddress;
+import java.util.ArrayList;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.format.NamedTextColor.*;
@@ -40,12 +48,25 @@ public class FakePlayer {
 
     private final static InternalAddressGenerator ipGen = new InternalAddressGenerator();
 
+    /**
+     * 诞生前预先加载出生点周围区块的半径
+     */
+    private final static int PRELOAD_CHUNK_RADIUS = 1;
+
     private final static FakeplayerConfig config = Main.getInjector().getInstance(FakeplayerConfig.class);
 
     private final static I18n i18n = Main.getI18n();
 
     private final static NMSBridge bridge = Main.getInjector().getInstance(NMSBridge.class);
 
+    private final static NMSServer server = bridge.fromServer(Bukkit.getServer());
+
+    private final static FakeplayerScheduler scheduler = Main.getInjector().getInstance(FakeplayerScheduler.class);
+
+    private final static SpawnProfiler profiler = Main.getInjector().getInstance(SpawnProfiler.class);
+
+    private final static SpawnChunkTickets chunkTickets = Main.getInjector().getInstance(SpawnChunkTickets.class);
+
     @NotNull
     @Getter
     private final CommandSender creator;
@@ -67,6 +88,7 @@ public class FakePlayer {
     private final SequenceName sequenceName;
 
     @NotNull
+    @Getter
     private final FakeplayerTicker ticker;
 
     @NotNull
@@ -76,21 +98,40 @@ public class FakePlayer {
     @NotNull
     private final UUID uuid;
 
+    /**
+     * 正在执行的动作
+     */
+    @NotNull
+    @Getter
+    private final ActionSlots actions = new ActionSlots();
+
     @UnknownNullability
     @Getter
     private NMSNetwork network;
 
+    /**
+     * 诞生完成的时间, 单位: 毫秒
+     * <p>休眠或者降频的假人 {@link #getTickCount()} 不会增长, 因此判断假人新旧时使用这个时间</p>
+     */
+    @Getter
+    private long spawnedAt;
+
+    /**
+     * 诞生时使用的选项
+     */
+    @UnknownNullability
+    @Getter
+    private SpawnOption option;
+
     /**
      * @param creator      创建者
      * @param creatorIp    创建者 IP
      * @param sequenceName 序列名
-     * @param lifespan     存活时间
      */
     public FakePlayer(
             @NotNull CommandSender creator,
             @NotNull String creatorIp,
-            @NotNull SequenceName sequenceName,
-            long lifespan
+            @NotNull SequenceName sequenceName
     ) {
         this.name = sequenceName.name();
         this.uuid = sequenceName.uuid();
@@ -98,9 +139,9 @@ public class FakePlayer {
         this.creator = creator;
         this.creatorIp = creatorIp;
         this.sequenceName = sequenceName;
-        this.handle = bridge.fromServer(Bukkit.getServer()).newPlayer(uuid, name);
+        this.handle = server.newPlayer(uuid, name);
         this.player = handle.getPlayer();
-        this.ticker = new FakeplayerTicker(this, lifespan);
+        this.ticker = new FakeplayerTicker(this);
 
         player.setPersistent(config.isPersistData());
         player.setSleepingIgnored(true);
@@ -112,10 +153,24 @@ public class FakePlayer {
      * 让假人诞生
      */
     public CompletableFuture<Void> spawnAsync(@NotNull SpawnOption option) {
+        return this.spawnAsync(option, scheduler.executor(option.spawnAt()), profiler.start());
+    }
+
+    /**
+     * 让假人诞生
+     *
+     * @param option   诞生选项
+     * @param executor 执行登陆事件以及进入世界的执行器, 必须在出生点所在的线程执行
+     * @param timer    记录每个阶段耗时的计时器
+     */
+    public CompletableFuture<Void> spawnAsync(@NotNull SpawnOption option, @NotNull Executor executor, @NotNull SpawnProfiler.Timer timer) {
+        this.option = option;
         var address = ipGen.next();
-        return CompletableTask
-                .joinAsync(Main.getInstance(), () -> {
+        return scheduler
+                .run(scheduler.asyncExecutor(), () -> {
+                    timer.lap(SpawnProfiler.Stage.ASYNC_WAIT);
                     var event = this.callPreLoginEvent(address);
+                    timer.lap(SpawnProfiler.Stage.PRE_LOGIN);
                     if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
                         throw new MessageException(i18n.translate(
                                 "fakeplayer.command.spawn.error.disallowed", RED,
@@ -124,91 +179,182 @@ public class FakePlayer {
                         ));
                     }
                 })
-                .thenComposeAsync(nul -> CompletableTask.join(Main.getInstance(), () -> {
-                    {
-                        var event = this.callLoginEvent(address);
-                        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
-                            throw new MessageException(i18n.translate(
-                                    "fakeplayer.command.spawn.error.disallowed", RED,
-                                    Placeholder.component("name", text(player.getName(), WHITE)),
-                                    Placeholder.component("reason", event.kickMessage())
-                            ));
+                .thenCompose(nul -> preloadChunksAsync(option.spawnAt()))
+                .thenCompose(nul -> {
+                    timer.lap(SpawnProfiler.Stage.CHUNK_PRELOAD);
+                    return scheduler.run(executor, () -> {
+                        timer.lap(SpawnProfiler.Stage.MAIN_WAIT);
+                        {
+                            var event = this.callLoginEvent(address);
+                            timer.lap(SpawnProfiler.Stage.LOGIN);
+                            if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+                                throw new MessageException(i18n.translate(
+                                        "fakeplayer.command.spawn.error.disallowed", RED,
+                                        Placeholder.component("name", text(player.getName(), WHITE)),
+                                        Placeholder.component("reason", event.kickMessage())
+                                ));
+                            }
                         }
-                    }
 
-                    {
-                        var event = this.callSpawnEvent();
-                        if (event.isCancelled()) {
-                            throw new MessageException(i18n.translate(
-                                    "fakeplayer.command.spawn.error.disallowed", RED,
-                                    Placeholder.component("name", text(player.getName(), WHITE)),
-                                    Placeholder.component("reason", event.getReason())
-                            ));
+                        {
+                            var event = this.callSpawnEvent();
+                            timer.lap(SpawnProfiler.Stage.SPAWN_EVENT);
+                            if (event.isCancelled()) {
+                                throw new MessageException(i18n.translate(
+                                        "fakeplayer.command.spawn.error.disallowed", RED,
+                                        Placeholder.component("name", text(player.getName(), WHITE)),
+                                        Placeholder.component("reason", event.getReason())
+                                ));
+                            }
                         }
-                    }
-
-                    if (config.isDropInventoryOnQuiting()) {
-                        // 跨服背包同步插件可能导致假人既丢弃了一份到地上，在重新生成的时候又回来了
-                        // 因此在生成的时候清空一次背包
-                        // 但无法解决登陆后延迟同步背包的情况
-                        this.player.getInventory().clear();
-                    }
-
-                    this.player.setInvulnerable(option.invulnerable());
-                    this.player.setCollidable(option.collidable());
-                    this.player.setCanPickupItems(option.pickupItems());
-                    if (option.lookAtEntity()) {
-                        Main.getInjector().getInstance(ActionManager.class).setAction(player, Action.ActionType.LOOK_AT_NEAREST_ENTITY, Action.ActionSetting.continuous());
-                    }
-                    if (option.skin() && this.creator instanceof Player playerCreator) {
-                        Skins.copySkin(playerCreator, this.player);
-                    }
-                    if (option.replenish()) {
-                        Main.getInjector().getInstance(FakeplayerManager.class).setReplenish(player, true);
-                    }
 
-                    this.network = bridge.createNetwork(address);
-                    this.network.placeNewPlayer(Bukkit.getServer(), this.player);
-                    this.setupName();
-                    this.handle.setupClientOptions();   // 处理皮肤设置问题
+                        if (config.isDropInventoryOnQuiting()) {
+                            // 跨服背包同步插件可能导致假人既丢弃了一份到地上，在重新生成的时候又回来了
+                            // 因此在生成的时候清空一次背包
+                            // 但无法解决登陆后延迟同步背包的情况
+                            this.player.getInventory().clear();
+                        }
 
-                    this.teleportToSpawnpoint(option.spawnAt().clone());
-                    this.ticker.runTaskTimer(Main.getInstance(), 0, 1);
-                }));
+                        this.player.setInvulnerable(option.invulnerable());
+                        this.player.setCollidable(option.collidable());
+                        this.player.setCanPickupItems(option.pickupItems());
+                        if (option.lookAtEntity()) {
+                            Main.getInjector().getInstance(ActionManager.class).setAction(this, Action.ActionType.LOOK_AT_NEAREST_ENTITY, Action.ActionSetting.continuous());
+                        }
+                        if (option.skin() && this.creator instanceof Player playerCreator) {
+                            Skins.copySkin(playerCreator, this.player);
+                        }
+                        if (option.replenish()) {
+                            Main.getInjector().getInstance(FakeplayerManager.class).setReplenish(player, true);
+                        }
+                        timer.lap(SpawnProfiler.Stage.SKIN);
+
+                        this.network = bridge.createNetwork(address);
+                        this.network.placeNewPlayer(Bukkit.getServer(), this.player);
+                        this.setupName();
+                        this.handle.setupClientOptions();   // 处理皮肤设置问题
+                        // 发送半径为 0 时 Paper 只会向假人发送脚下的区块, 诞生时一个, 每次跨越区块边界一个
+                        // 这个区块的数据包依然会被构建, 然后在假人的连接中被丢弃; 加载和模拟区块的范围不受影响
+                        this.player.setSendViewDistance(0);
+                        this.player.setViewDistance(option.viewDistance());
+                        this.player.setSimulationDistance(option.simulationDistance());
+                        timer.lap(SpawnProfiler.Stage.PLACE);
+
+                        this.teleportToSpawnpoint(option.spawnAt().clone(), timer);
+                    }).whenComplete((ignored, e) -> {
+                        if (e != null) {
+                            // 没有走到传送这一步, 由这里释放预加载时引用的区块
+                            scheduler.executor(option.spawnAt()).execute(() -> releaseNearbyChunks(option.spawnAt()));
+                        }
+                    });
+                });
     }
 
     /**
      * 将假人传送到指定位置
      *
-     * @param to 目标位置
+     * @param to    目标位置
+     * @param timer 计时器
      */
-    private void teleportToSpawnpoint(@NotNull Location to) {
+    private void teleportToSpawnpoint(@NotNull Location to, @NotNull SpawnProfiler.Timer timer) {
         var from = this.player.getLocation();
-        if (from.getWorld().equals(to.getWorld())) {
-            // 如果生成世界等于目的世界, 则需要穿越一次维度才能获取刷怪能力
+        if (from.getWorld().equals(to.getWorld()) && !(config.isRejoinWithoutHop() && this.handle.rejoinLevel())) {
+            // 如果生成世界等于目的世界, 则需要重新登记或者穿越一次维度才能获取刷怪能力
             var otherWorld = Worlds.getOtherWorld(from.getWorld());
             if (otherWorld == null || !player.teleport(otherWorld.getSpawnLocation())) {
-                this.creator.sendMessage(i18n.translate(
-                        "fakeplayer.command.spawn.error.no-mob-spawning-ability", GRAY,
-                        Placeholder.component("name", text(player.getName(), WHITE))
-                ));
+                this.sendNoMobSpawningAbility();
             }
         }
-
-        Bukkit.getScheduler().runTask(Main.getInstance(), () -> {
-            if (!Teleportor.teleportAndSound(player, to)) {
-                this.creator.sendMessage(i18n.translate(
-                        "fakeplayer.command.spawn.error.teleport-failed", GRAY,
-                        Placeholder.component("name", text(player.getName(), WHITE))
-                ));
+        timer.lap(SpawnProfiler.Stage.REJOIN);
+
+        // 区块在预加载完成时已经被引用, 传送之后才释放
+        scheduler.runTask(player, () -> {
+            try {
+                if (!Teleportor.teleportAndSound(player, to)) {
+                    this.sendTeleportFailed();
+                }
+                timer.lap(SpawnProfiler.Stage.TELEPORT);
+                timer.total();
+            } finally {
+                releaseNearbyChunks(to);
             }
         });
     }
 
+    /**
+     * 异步加载出生点所在的区块以及周围的区块, 避免诞生时在主线程同步加载
+     * <p>加载完成时引用这些区块, 使其在进入世界以及传送之前不会被卸载; 之后需要通过 {@link #releaseNearbyChunks(Location)} 释放</p>
+     *
+     * @param at 出生点
+     * @return 全部加载并引用完成后完成
+     */
+    private static @NotNull CompletableFuture<Void> preloadChunksAsync(@NotNull Location at) {
+        var world = at.getWorld();
+        var futures = new ArrayList<CompletableFuture<Chunk>>();
+        forEachNearbyChunk(at, (x, z) -> futures.add(world.getChunkAtAsync(x, z)));
+        return CompletableFuture
+                .allOf(futures.toArray(CompletableFuture[]::new))
+                .thenRun(() -> forEachNearbyChunk(at, (x, z) -> chunkTickets.acquire(world, x, z)));
+    }
+
+    /**
+     * 释放 {@link #preloadChunksAsync(Location)} 引用的区块
+     *
+     * @param at 出生点
+     */
+    private static void releaseNearbyChunks(@NotNull Location at) {
+        var world = at.getWorld();
+        forEachNearbyChunk(at, (x, z) -> chunkTickets.release(world, x, z));
+    }
+
+    /**
+     * 遍历位置所在的区块以及半径 {@link #PRELOAD_CHUNK_RADIUS} 以内的区块
+     *
+     * @param at     位置
+     * @param action 区块坐标
+     */
+    private static void forEachNearbyChunk(@NotNull Location at, @NotNull BiConsumer<Integer, Integer> action) {
+        var cx = at.getBlockX() >> 4;
+        var cz = at.getBlockZ() >> 4;
+        for (int x = cx - PRELOAD_CHUNK_RADIUS; x <= cx + PRELOAD_CHUNK_RADIUS; x++) {
+            for (int z = cz - PRELOAD_CHUNK_RADIUS; z <= cz + PRELOAD_CHUNK_RADIUS; z++) {
+                action.accept(x, z);
+            }
+        }
+    }
+
+    private void sendNoMobSpawningAbility() {
+        this.creator.sendMessage(i18n.translate(
+                "fakeplayer.command.spawn.error.no-mob-spawning-ability", GRAY,
+                Placeholder.component("name", text(player.getName(), WHITE))
+        ));
+    }
+
+    private void sendTeleportFailed() {
+        this.creator.sendMessage(i18n.translate(
+                "fakeplayer.command.spawn.error.teleport-failed", GRAY,
+                Placeholder.component("name", text(player.getName(), WHITE))
+        ));
+    }
+
     public boolean isOnline() {
         return this.player.isOnline();
     }
 
+    /**
+     * @return 是否有正在执行的动作
+     */
+    public boolean hasActiveAction() {
+        return !this.actions.isEmpty();
+    }
+
+    /**
+     * 记录诞生完成的时间
+     */
+    public void markSpawned() {
+        this.spawnedAt = System.currentTimeMillis();
+    }
+
     public int getTickCount() {
         return handle.getTickCount();
     }
@@ -220,8 +366,7 @@ public class FakePlayer {
                 this.uuid,
                 false
         );
-        Bukkit.getPluginManager().callEvent(event);
-        return event;
+        return profiler.callEvent(event);
     }
 
     private @NotNull PlayerLoginEvent callLoginEvent(@NotNull InetAddress address) {
@@ -230,14 +375,12 @@ public class FakePlayer {
                 address.getHostAddress(),
                 address
         );
-        Bukkit.getPluginManager().callEvent(event);
-        return event;
+        return profiler.callEvent(event);
     }
 
     private @NotNull FakePlayerSpawnEvent callSpawnEvent() {
         var event = new FakePlayerSpawnEvent(this.creator, this.player);
-        Bukkit.getPluginManager().callEvent(event);
-        return event;
+        return profiler.callEvent(event);
     }
 
     /**
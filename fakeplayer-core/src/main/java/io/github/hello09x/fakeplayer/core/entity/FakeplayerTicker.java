@@ -2,49 +2,102 @@ package io.github.hello09x.fakeplayer.core.entity;
 
 import io.github.hello09x.fakeplayer.api.spi.NMSServerPlayer;
 import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.manager.FakeplayerList;
 import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
+import io.github.hello09x.fakeplayer.core.manager.LoadSheddingManager;
+import lombok.Getter;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
-public class FakeplayerTicker extends BukkitRunnable {
+/**
+ * 假人时刻运算
+ * <p>由 {@link FakeplayerManager} 统一驱动, 每个 tick 调用一次 {@link #tick()}</p>
+ */
+public class FakeplayerTicker {
 
-    public final static long NO_REMOVE_AT = -1;
+    /**
+     * 重新检测附近是否有真实玩家的间隔
+     */
+    private final static int LOD_CHECK_INTERVAL = 20;
+
+    private final static FakeplayerConfig config = Main.getInjector().getInstance(FakeplayerConfig.class);
+
+    private final static FakeplayerList playerList = Main.getInjector().getInstance(FakeplayerList.class);
+
+    private final static LoadSheddingManager loadShedding = Main.getInjector().getInstance(LoadSheddingManager.class);
 
     @NotNull
     private final FakePlayer player;
 
     /**
-     * 移除时间
-     * <p>如果不需要定时移除则为 0</p>
+     * 是否是第一次 tick
      */
-    private final long removeAt;
+    private boolean firstTick;
 
     /**
-     * 是否是第一次 tick
+     * 连续被顺延的 tick 数
      */
-    private boolean firstTick;
+    @Getter
+    private int deferredTicks;
+
+    /**
+     * 是否处于降频运算
+     * <p>没有任何动作并且附近没有真实玩家时降频</p>
+     */
+    @Getter
+    private boolean throttled;
+
+    /**
+     * 是否处于休眠状态
+     * <p>休眠时不执行 {@link NMSServerPlayer#doTick()}, 但位置不变因此依然加载区块</p>
+     */
+    @Getter
+    private boolean hibernating;
 
-    public FakeplayerTicker(
-            @NotNull FakePlayer player,
-            long lifespan
-    ) {
+    /**
+     * 本 tick 是否因为降频而跳过了运算
+     * <p>跳过运算时 {@code ActionManager} 同样跳过动作, 动作随运算一起降频</p>
+     */
+    @Getter
+    private boolean skipped;
+
+    /**
+     * 是否刚从休眠中恢复, 需要在下一次运算前修正坐标
+     */
+    private boolean resuming;
+
+    /**
+     * 下次检测附近是否有真实玩家的服务器 tick
+     */
+    private int nextLodCheckAt;
+
+    /**
+     * 降频运算时的相位, 将不同假人的运算分散到不同的 tick
+     */
+    private final int lodPhase;
+
+    public FakeplayerTicker(@NotNull FakePlayer player) {
         this.player = player;
-        this.removeAt = lifespan > 0 ? System.currentTimeMillis() + lifespan : NO_REMOVE_AT;
         this.firstTick = true;
+        this.lodPhase = player.getUUID().hashCode();
     }
 
-    @Override
-    public void run() {
+    /**
+     * 执行一次时刻运算
+     *
+     * @return 是否需要继续运算, 如果为 {@code false} 则表示假人已经下线
+     */
+    public boolean tick() {
+        this.deferredTicks = 0;
+        this.skipped = false;
         if (!player.isOnline()) {
-            super.cancel();
-            return;
+            return false;
         }
 
-        if (this.removeAt != NO_REMOVE_AT && this.player.getTickCount() % 20 == 0 && System.currentTimeMillis() > removeAt) {
-            Main.getInjector().getInstance(FakeplayerManager.class).remove(player.getName(), "lifespan ends");
-            super.cancel();
-            return;
+        if (this.hibernating) {
+            return true;
         }
 
         // 真实的玩家是通过 ServerGamePacketListenerImpl#tick() 进行时刻运算的
@@ -53,9 +106,80 @@ public class FakeplayerTicker extends BukkitRunnable {
         // 因此这里自行修复第一次 tick 的坐标, 并直接调用 ServerPlayer#doTick() 来进行时刻运算
         if (this.firstTick) {
             this.doFirstTick();
+        } else if (this.resuming) {
+            this.doResumeTick();
+        } else if (this.shouldSkipTick()) {
+            this.skipped = true;
         } else {
             this.doTick();
         }
+        return true;
+    }
+
+    /**
+     * 设置休眠状态
+     *
+     * @param hibernating 是否休眠
+     */
+    public void setHibernating(boolean hibernating) {
+        if (this.hibernating && !hibernating) {
+            this.resuming = true;
+        }
+        this.hibernating = hibernating;
+    }
+
+    /**
+     * 判断本 tick 是否因为降频而跳过运算
+     * <p>假人没有任何动作并且 {@code lod-distance} 个区块内没有真实玩家时, 每 {@code lod-interval} 个 tick 才运算一次</p>
+     * <p>设置了动作后立即恢复, 附近出现真实玩家后最迟 {@link #LOD_CHECK_INTERVAL} 个 tick 内恢复</p>
+     * <p>负载保护处于降频阶段时, 所有假人每 {@code load-shedding.throttle-interval} 个 tick 才运算一次</p>
+     * <p>跳过运算不会改变假人的位置, 因此区块加载票据依然保留, 刷怪与随机刻不受影响</p>
+     */
+    private boolean shouldSkipTick() {
+        if (loadShedding.isThrottling() && Math.floorMod(Bukkit.getCurrentTick() + this.lodPhase, config.getThrottleInterval()) != 0) {
+            return true;
+        }
+
+        var interval = config.getLodInterval();
+        if (interval <= 1 || this.player.hasActiveAction()) {
+            this.throttled = false;
+            return false;
+        }
+
+        var currentTick = Bukkit.getCurrentTick();
+        if (currentTick >= this.nextLodCheckAt) {
+            this.throttled = !this.hasRealPlayerNearby(config.getLodDistance());
+            this.nextLodCheckAt = currentTick + LOD_CHECK_INTERVAL;
+        }
+
+        return this.throttled && Math.floorMod(currentTick + this.lodPhase, interval) != 0;
+    }
+
+    /**
+     * @param distance 距离, 单位: 区块
+     * @return 指定距离内是否有真实玩家
+     */
+    private boolean hasRealPlayerNearby(int distance) {
+        var location = this.player.getPlayer().getLocation();
+        var chunkX = location.getBlockX() >> 4;
+        var chunkZ = location.getBlockZ() >> 4;
+        for (var p : location.getWorld().getPlayers()) {
+            if (playerList.getByUUID(p.getUniqueId()) != null) {
+                continue;
+            }
+            var l = p.getLocation();
+            if (Math.abs((l.getBlockX() >> 4) - chunkX) <= distance && Math.abs((l.getBlockZ() >> 4) - chunkZ) <= distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 本 tick 因为超出时间预算而顺延到下一 tick
+     */
+    public void defer() {
+        this.deferredTicks++;
     }
 
     /**
@@ -83,6 +207,19 @@ public class FakeplayerTicker extends BukkitRunnable {
         this.firstTick = false;
     }
 
+    /**
+     * 处理休眠恢复后的第一次 tick
+     * <p>休眠期间坐标没有变化, 只需要将本 tick 的移动取消, 不需要像 {@link #doFirstTick()} 那样再传送一次</p>
+     */
+    private void doResumeTick() {
+        var handle = this.player.getHandle();
+        handle.setXo(handle.getX());
+        handle.setYo(handle.getY());
+        handle.setZo(handle.getZ());
+        handle.doTick();
+        this.resuming = false;
+    }
+
     private void doTick() {
         var handle = this.player.getHandle();
         handle.doTick();
@@ -0,0 +1,111 @@
+package io.github.hello09x.fakeplayer.core.entity;
+
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.manager.naming.SequenceName;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 关服时记录的一名假人, 用于下次启动时恢复
+ *
+ * @param sequenceName       序列名
+ * @param creatorId          创建者 UUID, 不是玩家创建时为 {@code null}
+ * @param creatorName        创建者名称
+ * @param world              所在世界
+ * @param x                  x
+ * @param y                  y
+ * @param z                  z
+ * @param yaw                yaw
+ * @param pitch              pitch
+ * @param removeAt           移除时间, 小于等于 0 表示永久存活
+ * @param invulnerable       是否无敌
+ * @param collidable         是否开启碰撞
+ * @param pickupItems        是否拾取物品
+ * @param skin               是否使用创建者的皮肤
+ * @param replenish          自动补货
+ * @param viewDistance       视距
+ * @param simulationDistance 模拟距离
+ * @param actions            正在执行的动作
+ */
+public record RosterEntry(
+
+        @NotNull
+        SequenceName sequenceName,
+
+        @Nullable
+        UUID creatorId,
+
+        @NotNull
+        String creatorName,
+
+        @NotNull
+        String world,
+
+        double x,
+
+        double y,
+
+        double z,
+
+        float yaw,
+
+        float pitch,
+
+        long removeAt,
+
+        boolean invulnerable,
+
+        boolean collidable,
+
+        boolean pickupItems,
+
+        boolean skin,
+
+        boolean replenish,
+
+        int viewDistance,
+
+        int simulationDistance,
+
+        @NotNull
+        Map<Action.ActionType, Action.ActionSetting> actions
+
+) {
+
+    /**
+     * @return 假人所在的位置, 世界已经不存在时为 {@code null}
+     */
+    public @Nullable Location getLocation() {
+        var world = Bukkit.getWorld(this.world);
+        if (world == null) {
+            return null;
+        }
+        return new Location(world, x, y, z, yaw, pitch);
+    }
+
+    /**
+     * 转换为诞生选项, 看向附近实体已经包含在 {@link #actions} 中
+     *
+     * @param spawnAt 出生点
+     * @return 诞生选项
+     */
+    public @NotNull SpawnOption toSpawnOption(@NotNull Location spawnAt) {
+        return new SpawnOption(
+                spawnAt,
+                invulnerable,
+                collidable,
+                false,
+                pickupItems,
+                skin,
+                replenish,
+                viewDistance,
+                simulationDistance
+        );
+    }
+
+}
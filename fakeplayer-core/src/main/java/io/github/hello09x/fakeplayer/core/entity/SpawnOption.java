@@ -9,7 +9,9 @@ import org.jetbrains.annotations.NotNull;
  * @param collidable   是否开启碰撞
  * @param lookAtEntity 是否看向附近实体
  * @param pickupItems  是否拾取物品
- * @param replenish    自动补货
+ * @param replenish          自动补货
+ * @param viewDistance       视距
+ * @param simulationDistance 模拟距离
  */
 public record SpawnOption(
         @NotNull
@@ -25,7 +27,11 @@ public record SpawnOption(
 
         boolean skin,
 
-        boolean replenish
+        boolean replenish,
+
+        int viewDistance,
+
+        int simulationDistance
 
 ) {
 }
@@ -0,0 +1,30 @@
+package io.github.hello09x.fakeplayer.core.entity;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 批量召唤中一名假人的结果
+ *
+ * @param name   假人名称
+ * @param player 诞生成功的假人, 失败时为 {@code null}
+ * @param error  失败原因, 成功时为 {@code null}
+ */
+public record SpawnResult(
+        @NotNull
+        String name,
+
+        @Nullable
+        Player player,
+
+        @Nullable
+        Throwable error
+
+) {
+
+    public boolean isSuccess() {
+        return this.player != null;
+    }
+
+}
@@ -5,6 +5,7 @@ import io.github.hello09x.fakeplayer.api.spi.Action;
 import io.github.hello09x.fakeplayer.api.spi.ActionTicker;
 import io.github.hello09x.fakeplayer.api.spi.NMSBridge;
 import io.github.hello09x.fakeplayer.core.entity.action.impl.*;
+import lombok.Getter;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
@@ -19,9 +20,18 @@ public abstract class BaseActionTicker implements ActionTicker {
     @UnknownNullability
     protected Action action;
 
+    /**
+     * 动作设置, 剩余次数以及等待时间会随着执行更新
+     */
     @NotNull
+    @Getter
     protected Action.ActionSetting setting;
 
+    /**
+     * 是否处于两次动作之间的等待中, 并且已经执行过一次 {@link #inactiveTick()}
+     */
+    private boolean waiting;
+
     public BaseActionTicker(NMSBridge nms, @NotNull Player player, @NotNull Action.ActionType action, @NotNull Action.ActionSetting setting) {
         this.bridge = nms;
         this.setting = setting;
@@ -47,8 +57,10 @@ public abstract class BaseActionTicker implements ActionTicker {
         if (setting.wait > 0) {
             this.setting.wait--;
             this.inactiveTick();
+            this.waiting = true;
             return false;
         }
+        this.waiting = false;
 
         if (this.setting.remains == 0) {
             this.inactiveTick();
@@ -65,6 +77,20 @@ public abstract class BaseActionTicker implements ActionTicker {
         return false;
     }
 
+    /**
+     * 等待期间每个 tick 只是重复调用 {@link #inactiveTick()}, 而所有动作的 {@link Action#inactiveTick()} 重复执行都没有额外效果,
+     * 因此执行过一次之后剩下的等待都可以跳过
+     */
+    @Override
+    public int sleepTicks() {
+        return this.waiting ? this.setting.wait : 0;
+    }
+
+    @Override
+    public void skip(int ticks) {
+        this.setting.wait = Math.max(0, this.setting.wait - ticks);
+    }
+
     @Override
     public void inactiveTick() {
         action.inactiveTick();
@@ -8,8 +8,8 @@ import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
 import io.github.hello09x.fakeplayer.core.repository.UsedIdRepository;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import io.github.hello09x.fakeplayer.core.util.InternalAddressGenerator;
-import org.bukkit.Bukkit;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeInstance;
 import org.bukkit.entity.Player;
@@ -35,14 +35,16 @@ public class FakeplayerListener implements Listener {
     private final FakeplayerManager manager;
     private final UsedIdRepository usedIdRepository;
     private final FakeplayerConfig config;
+    private final FakeplayerScheduler scheduler;
 
     private final I18n i18n = Main.getI18n();
 
     @Inject
-    public FakeplayerListener(FakeplayerManager manager, UsedIdRepository usedIdRepository, FakeplayerConfig config) {
+    public FakeplayerListener(FakeplayerManager manager, UsedIdRepository usedIdRepository, FakeplayerConfig config, FakeplayerScheduler scheduler) {
         this.manager = manager;
         this.usedIdRepository = usedIdRepository;
         this.config = config;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -107,7 +109,7 @@ public class FakeplayerListener implements Listener {
             // 如果移除玩家后没有假人, 则更新命令列表
             // 这个方法需要在 cleanup 之前执行, 不然无法获取假人的创建者
             if (manager.getCreator(target) instanceof Player creator && manager.countByCreator(creator) == 1) {
-                Bukkit.getScheduler().runTaskLater(Main.getInstance(), creator::updateCommands, 1); // 需要下 1 tick 移除后才正确刷新
+                scheduler.runTaskLater(creator, creator::updateCommands, 1); // 需要下 1 tick 移除后才正确刷新
             }
         } catch (Throwable e) {
             log.warning("执行 destroy-commands 时发生错误: \n" + Throwables.getStackTraceAsString(e));
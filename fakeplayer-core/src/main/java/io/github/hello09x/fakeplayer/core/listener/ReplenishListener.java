@@ -5,11 +5,10 @@ import com.destroystokyo.paper.event.player.PlayerLaunchProjectileEvent;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.hello09x.bedrock.util.Blocks;
-import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.command.Permission;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
-import org.bukkit.Bukkit;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import org.bukkit.Material;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.Chest;
@@ -34,10 +33,12 @@ import java.util.Optional;
 public class ReplenishListener implements Listener {
 
     private final FakeplayerManager manager;
+    private final FakeplayerScheduler scheduler;
 
     @Inject
-    public ReplenishListener(FakeplayerManager manager) {
+    public ReplenishListener(FakeplayerManager manager, FakeplayerScheduler scheduler) {
         this.manager = manager;
+        this.scheduler = scheduler;
     }
 
     /**
@@ -129,7 +130,7 @@ public class ReplenishListener implements Listener {
         var requires = item.clone();
         item = null;    // 以防下面的代码用到了这个值
 
-        Bukkit.getScheduler().runTaskLater(Main.getInstance(), () -> {
+        scheduler.runTaskLater(target, () -> {
             if (!target.isOnline()) {
                 return;
             }
@@ -197,7 +198,7 @@ public class ReplenishListener implements Listener {
                 continue;
             }
 
-            Bukkit.getScheduler().runTaskLater(Main.getInstance(), () -> {
+            scheduler.runTaskLater(target, () -> {
                 var view = target.getOpenInventory();
                 var inv = view.getTopInventory();
                 if (inv.getType() != InventoryType.CHEST) {
@@ -7,26 +7,43 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
+/**
+ * 假人清单
+ * <p>诞生流程中会在异步线程查询, 因此查询不加锁, 修改时加锁</p>
+ */
 @Singleton
 public class FakeplayerList {
 
-    private final Map<String, FakePlayer> playersByName = new HashMap<>();
+    private final Map<String, FakePlayer> playersByName = new ConcurrentHashMap<>();
 
-    private final Map<UUID, FakePlayer> playersByUUID = new HashMap<>();
+    private final Map<UUID, FakePlayer> playersByUUID = new ConcurrentHashMap<>();
 
-    private final Map<String, List<FakePlayer>> playersByCreator = new HashMap<>();
+    private final Map<String, List<FakePlayer>> playersByCreator = new ConcurrentHashMap<>();
+
+    /**
+     * 紧凑排列的假人数组, 用于每 tick 遍历
+     */
+    private FakePlayer[] roster = new FakePlayer[16];
+
+    private int rosterSize;
 
     /**
      * 添加一个假人到假人清单
      *
      * @param player 假人
      */
-    public void add(@NotNull FakePlayer player) {
+    public synchronized void add(@NotNull FakePlayer player) {
         this.playersByName.put(player.getName(), player);
         this.playersByUUID.put(player.getUUID(), player);
-        this.playersByCreator.computeIfAbsent(player.getCreator().getName(), key -> new LinkedList<>()).add(player);
+        this.playersByCreator.computeIfAbsent(player.getCreator().getName(), key -> new CopyOnWriteArrayList<>()).add(player);
+        if (this.rosterSize == this.roster.length) {
+            this.roster = Arrays.copyOf(this.roster, this.roster.length << 1);
+        }
+        this.roster[this.rosterSize++] = player;
     }
 
     /**
@@ -64,10 +81,17 @@ public class FakeplayerList {
      *
      * @param player 假人
      */
-    public void remove(@NotNull FakePlayer player) {
+    public synchronized void remove(@NotNull FakePlayer player) {
         this.playersByName.remove(player.getName());
         this.playersByUUID.remove(player.getUUID());
         Optional.ofNullable(this.playersByCreator.get(player.getCreator().getName())).map(players -> players.remove(player));
+        for (int i = 0; i < this.rosterSize; i++) {
+            if (this.roster[i] == player) {
+                this.roster[i] = this.roster[--this.rosterSize];
+                this.roster[this.rosterSize] = null;
+                break;
+            }
+        }
     }
 
     /**
@@ -122,6 +146,24 @@ public class FakeplayerList {
         return player;
     }
 
+    /**
+     * 将所有假人复制到数组中, 语义与 {@link Collection#toArray(Object[])} 相同
+     * <p>如果数组足够大则直接复用, 并在最后一个假人后设置 {@code null}</p>
+     *
+     * @param dest 目标数组
+     * @return 包含所有假人的数组
+     */
+    public synchronized @NotNull FakePlayer[] toRosterArray(@NotNull FakePlayer[] dest) {
+        if (dest.length < this.rosterSize) {
+            return Arrays.copyOf(this.roster, this.rosterSize);
+        }
+        System.arraycopy(this.roster, 0, dest, 0, this.rosterSize);
+        if (dest.length > this.rosterSize) {
+            dest[this.rosterSize] = null;
+        }
+        return dest;
+    }
+
     public @NotNull Stream<FakePlayer> stream() {
         return this.playersByUUID.values().stream();
     }
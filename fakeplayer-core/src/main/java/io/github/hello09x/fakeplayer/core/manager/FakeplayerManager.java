@@ -8,17 +8,23 @@ import io.github.hello09x.bedrock.util.AddressUtils;
 import io.github.hello09x.fakeplayer.api.spi.Action;
 import io.github.hello09x.fakeplayer.api.spi.NMSBridge;
 import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.command.Permission;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
 import io.github.hello09x.fakeplayer.core.constant.MetadataKeys;
 import io.github.hello09x.fakeplayer.core.entity.FakePlayer;
+import io.github.hello09x.fakeplayer.core.entity.RosterEntry;
 import io.github.hello09x.fakeplayer.core.entity.SpawnOption;
+import io.github.hello09x.fakeplayer.core.entity.SpawnResult;
+import io.github.hello09x.fakeplayer.core.manager.action.ActionManager;
 import io.github.hello09x.fakeplayer.core.manager.invsee.Invsee;
 import io.github.hello09x.fakeplayer.core.manager.naming.NameManager;
 import io.github.hello09x.fakeplayer.core.manager.naming.SequenceName;
 import io.github.hello09x.fakeplayer.core.manager.naming.exception.IllegalCustomNameException;
 import io.github.hello09x.fakeplayer.core.repository.UsedIdRepository;
 import io.github.hello09x.fakeplayer.core.repository.model.Config;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import io.github.hello09x.fakeplayer.core.util.Commands;
+import io.github.hello09x.fakeplayer.core.util.TimingWheel;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -31,20 +37,18 @@ import org.bukkit.metadata.MetadataValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
 import static net.kyori.adventure.text.Component.text;
 import static net.kyori.adventure.text.Component.textOfChildren;
-import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
-import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
 
 @Singleton
 public class FakeplayerManager {
@@ -59,9 +63,45 @@ public class FakeplayerManager {
     private final UserConfigManager configManager;
     private final NMSBridge nms;
     private final FakeplayerConfig config;
+    private final ActionManager actionManager;
+    private final FakeplayerScheduler scheduler;
+    private final TickProfiler profiler;
+    private final SpawnStagger spawnStagger;
+    private final SpawnAdmission admission;
+    private final SpawnProfiler spawnProfiler;
+    private final RosterSnapshot roster;
+
+    /**
+     * 假人的移除时间, 精度为 1 秒
+     */
+    private final TimingWheel<UUID> lifespans = new TimingWheel<>(1000, 4096, System.currentTimeMillis());
+
+    /**
+     * 每 tick 复用的假人数组, 避免遍历时被修改
+     */
+    private FakePlayer[] ticking = new FakePlayer[0];
+
+    /**
+     * 轮转起点, 上一个 tick 中第一个被顺延的假人的位置
+     */
+    private int tickCursor;
+
+    private long lastTickNanos;
+
+    private double avgTickNanos;
+
+    private int lastTicked;
+
+    private int lastDeferred;
+
+    private int lastForced;
+
+    private long totalDeferred;
+
+    private long totalForced;
 
     @Inject
-    public FakeplayerManager(Invsee invsee, UsedIdRepository usedIdRepository, NameManager nameManager, FakeplayerList playerList, UserConfigManager configManager, NMSBridge nms, FakeplayerConfig config) {
+    public FakeplayerManager(Invsee invsee, UsedIdRepository usedIdRepository, NameManager nameManager, FakeplayerList playerList, UserConfigManager configManager, NMSBridge nms, FakeplayerConfig config, ActionManager actionManager, FakeplayerScheduler scheduler, TickProfiler profiler, SpawnStagger spawnStagger, SpawnAdmission admission, SpawnProfiler spawnProfiler, RosterSnapshot roster) {
         this.invsee = invsee;
         this.usedIdRepository = usedIdRepository;
         this.nameManager = nameManager;
@@ -69,28 +109,168 @@ public class FakeplayerManager {
         this.configManager = configManager;
         this.nms = nms;
         this.config = config;
+        this.actionManager = actionManager;
+        this.scheduler = scheduler;
+        this.profiler = profiler;
+        this.spawnStagger = spawnStagger;
+        this.admission = admission;
+        this.spawnProfiler = spawnProfiler;
+        this.roster = roster;
+
+        scheduler.runTaskTimer(this::tick, 0, 1);
+
+        Main.getInstance().registerOnDisable(() -> {
+            if (config.isRestoreRoster()) {
+                this.roster.save(this.getRosterEntries());
+            } else {
+                this.roster.clear();
+            }
+            this.removeAll("Plugin disabled");
+        });
+    }
 
-        var timer = Executors.newSingleThreadScheduledExecutor();
-        timer.scheduleWithFixedDelay(() -> {
-                    if (Bukkit.getServer().getTPS()[1] < config.getKaleTps()) {
-                        Bukkit.getScheduler().runTask(Main.getInstance(), () -> {
-                            if (this.removeAll("low tps") > 0) {
-                                Bukkit.broadcast(i18n.translate("fakeplayer.manager.remove-all-on-low-tps", GRAY, ITALIC));
-                            }
-                        });
+    /**
+     * 统一驱动所有假人的时刻运算
+     * <p>所有假人共用一个调度任务, 而不是每个假人各自注册一个</p>
+     * <p>如果配置了时间预算, 超出预算后剩下的假人会被顺延到下一个 tick, 下一个 tick 从第一个被顺延的假人开始轮转执行;
+     * 连续被顺延达到上限的假人即使超出预算也会执行</p>
+     */
+    private void tick() {
+        this.expireLifespans();
+
+        var size = this.playerList.count();
+        this.ticking = this.playerList.toRosterArray(this.ticking);
+
+        var budget = this.config.getTickBudgetNanos();
+        var maxDeferred = this.config.getMaxDeferredTicks();
+        var start = System.nanoTime();
+        var cursor = this.tickCursor < size ? this.tickCursor : 0;
+        var nextCursor = -1;
+        int ticked = 0, deferred = 0, forced = 0;
+
+        for (int n = 0; n < size; n++) {
+            var i = cursor + n;
+            if (i >= size) {
+                i -= size;
+            }
+            var fp = this.ticking[i];
+            if (fp == null) {
+                continue;
+            }
+
+            var ticker = fp.getTicker();
+            if (budget > 0 && ticked > 0 && System.nanoTime() - start >= budget) {
+                if (ticker.getDeferredTicks() < maxDeferred) {
+                    ticker.defer();
+                    deferred++;
+                    if (nextCursor == -1) {
+                        nextCursor = i;
                     }
-                }, 0, 60, TimeUnit.SECONDS
-        );
+                    continue;
+                }
+                forced++;
+            }
+
+            ticked++;
+            if (!this.tick(fp)) {
+                this.actionManager.stop(fp);
+                this.playerList.remove(fp);
+                continue;
+            }
+            this.actionManager.tick(fp);
+        }
+        Arrays.fill(this.ticking, 0, Math.min(size, this.ticking.length), null);
+
+        this.tickCursor = nextCursor == -1 ? cursor : nextCursor;
+        this.lastTickNanos = System.nanoTime() - start;
+        this.avgTickNanos = this.avgTickNanos * 0.95 + this.lastTickNanos * 0.05;
+        this.lastTicked = ticked;
+        this.lastDeferred = deferred;
+        this.lastForced = forced;
+        this.totalDeferred += deferred;
+        this.totalForced += forced;
+    }
+
+    /**
+     * 移除存活时间已经到了的假人
+     * <p>只会访问时间轮中经过的槽, 与假人数量无关</p>
+     */
+    private void expireLifespans() {
+        this.lifespans.advance(System.currentTimeMillis(), uuid -> {
+            var fp = this.playerList.getByUUID(uuid);
+            if (fp != null) {
+                this.remove(fp.getName(), "lifespan ends");
+            }
+        });
+    }
+
+    /**
+     * 获取假人的移除时间
+     *
+     * @param target 假人
+     * @return 移除时间, 如果是永久存活则为 {@code null}
+     */
+    public @Nullable Long getRemoveAt(@NotNull Player target) {
+        return this.lifespans.getDeadline(target.getUniqueId());
+    }
+
+    /**
+     * 设置假人的移除时间
+     *
+     * @param target   假人
+     * @param removeAt 移除时间, 小于等于 0 表示永久存活
+     */
+    public void setRemoveAt(@NotNull Player target, long removeAt) {
+        if (this.isNotFake(target)) {
+            return;
+        }
+        if (removeAt <= 0) {
+            this.lifespans.cancel(target.getUniqueId());
+        } else {
+            this.lifespans.schedule(target.getUniqueId(), removeAt);
+        }
+    }
+
+    /**
+     * 执行一名假人的时刻运算, 开启了耗时采样时记录耗时
+     *
+     * @param fp 假人
+     * @return 是否需要继续运算
+     */
+    private boolean tick(@NotNull FakePlayer fp) {
+        if (!this.profiler.isEnabled()) {
+            return fp.getTicker().tick();
+        }
 
-        Main.getInstance().registerOnDisable(() -> this.removeAll("Plugin disabled"));
-        Main.getInstance().registerOnDisable(timer::shutdown);
+        var start = System.nanoTime();
+        var ticking = fp.getTicker().tick();
+        this.profiler.recordTick(fp.getUUID(), System.nanoTime() - start);
+        return ticking;
+    }
+
+    /**
+     * @return 假人时刻运算统计
+     */
+    public @NotNull TickStatistics getTickStatistics() {
+        return new TickStatistics(
+                this.config.getTickBudgetNanos(),
+                this.lastTickNanos,
+                (long) this.avgTickNanos,
+                this.lastTicked,
+                this.lastDeferred,
+                this.lastForced,
+                this.totalDeferred,
+                this.totalForced
+        );
     }
 
     /**
      * 创建一个假人
+     * <p>请求先经过 {@link SpawnAdmission} 准入控制, 令牌不足时排队, 返回的结果在真正诞生后完成</p>
      *
-     * @param creator 创建者
-     * @param spawnAt 生成地点
+     * @param creator  创建者
+     * @param spawnAt  生成地点
+     * @param lifespan 存活时间, 单位: 毫秒, 小于等于 0 表示永久存活
      */
     public @NotNull CompletableFuture<Player> spawnAsync(
             @NotNull CommandSender creator,
@@ -99,6 +279,21 @@ public class FakeplayerManager {
             long lifespan
     ) throws MessageException {
         this.checkLimit(creator);
+        var timer = this.spawnProfiler.start();
+        return this.admission.admit(creator, 1, () -> this.doSpawnAsync(creator, name, spawnAt, lifespan, timer));
+    }
+
+    private @NotNull CompletableFuture<Player> doSpawnAsync(
+            @NotNull CommandSender creator,
+            @Nullable String name,
+            @NotNull Location spawnAt,
+            long lifespan,
+            @NotNull SpawnProfiler.Timer timer
+    ) throws MessageException {
+        timer.lap(SpawnProfiler.Stage.QUEUE);
+        // 排队期间数量可能已经达到上限
+        this.checkLimit(creator);
+        var removeAt = lifespan > 0 ? System.currentTimeMillis() + lifespan : 0;
 
         SequenceName sn;
         try {
@@ -110,39 +305,265 @@ public class FakeplayerManager {
         var fp = new FakePlayer(
                 creator,
                 AddressUtils.getAddress(creator),
-                sn,
-                lifespan
+                sn
         );
         var target = fp.getPlayer();    // 即使出现异常也不需要处理这个玩家, 最终会被 GC 掉
+        timer.lap(SpawnProfiler.Stage.CREATE);
 
-        return CompletableFuture
-                .supplyAsync(() -> {
-                    var configs = configManager.getConfigs(creator);
-                    return new SpawnOption(
-                            spawnAt,
-                            configs.getOrDefault(Config.invulnerable),
-                            configs.getOrDefault(Config.collidable),
-                            configs.getOrDefault(Config.look_at_entity),
-                            configs.getOrDefault(Config.pickup_items),
-                            configs.getOrDefault(Config.skin),
-                            configs.getOrDefault(Config.replenish)
-                    );
+        return scheduler
+                .supply(scheduler.asyncExecutor(), () -> {
+                    var option = this.getSpawnOption(creator, spawnAt);
+                    timer.lap(SpawnProfiler.Stage.OPTIONS);
+                    return option;
                 })
-                .thenComposeAsync(fp::spawnAsync)
+                .thenCompose(option -> fp.spawnAsync(option, scheduler.executor(spawnAt), timer))
                 .thenApply(nul -> {
-                    Bukkit.getScheduler().runTask(Main.getInstance(), () -> {
-                        this.playerList.add(fp);
-                        this.usedIdRepository.add(target.getUniqueId());
-                    });
-
-                    Bukkit.getScheduler().runTaskLater(Main.getInstance(), () -> {
-                        this.dispatchCommands(target, config.getPreparingCommands());
-                        this.issueCommands(target, config.getSelfCommands());
-                    }, 20);
+                    this.onSpawned(fp, removeAt);
+                    scheduler.runTaskLater(() -> this.dispatchCommands(target, config.getPreparingCommands()), 20);
+                    scheduler.runTaskLater(target, () -> this.issueCommands(target, config.getSelfCommands()), 20);
                     return target;
+                })
+                .whenComplete((target, e) -> {
+                    if (e != null) {
+                        this.releaseName(sn);
+                    }
+                });
+    }
+
+    /**
+     * 一次创建多个假人
+     * <p>只读取一次创建者的配置, 一次性分配所有名称; 登陆前事件并行执行, 构造玩家以及进入世界的工作按照 {@code spawn-budget-nanos} 分摊到多个 tick</p>
+     * <p>非 OP 玩家的数量会被限制在剩余的可召唤数量以内; 整批请求只经过一次准入控制</p>
+     *
+     * @param creator  创建者
+     * @param spawnAt  生成地点
+     * @param lifespan 存活时间, 单位: 毫秒, 小于等于 0 表示永久存活
+     * @param count    数量
+     * @return 每个假人的结果, 所有假人都结束后完成
+     */
+    public @NotNull CompletableFuture<List<SpawnResult>> spawnBatchAsync(
+            @NotNull CommandSender creator,
+            @NotNull Location spawnAt,
+            long lifespan,
+            int count
+    ) throws MessageException {
+        this.checkLimit(creator);
+        var timer = this.spawnProfiler.start();
+        return this.admission.admit(creator, count, () -> this.doSpawnBatchAsync(creator, spawnAt, lifespan, count, timer));
+    }
+
+    private @NotNull CompletableFuture<List<SpawnResult>> doSpawnBatchAsync(
+            @NotNull CommandSender creator,
+            @NotNull Location spawnAt,
+            long lifespan,
+            int count,
+            @NotNull SpawnProfiler.Timer timer
+    ) throws MessageException {
+        timer.lap(SpawnProfiler.Stage.QUEUE);
+        this.checkLimit(creator);
+        count = Math.min(count, Math.min(this.getRemainingLimit(creator), config.getSpawnMaxCount()));
+        var removeAt = lifespan > 0 ? System.currentTimeMillis() + lifespan : 0;
+
+        var address = AddressUtils.getAddress(creator);
+        var names = nameManager.register(creator, count);
+
+        return scheduler
+                .supply(scheduler.asyncExecutor(), () -> {
+                    var option = this.getSpawnOption(creator, spawnAt);
+                    timer.lap(SpawnProfiler.Stage.OPTIONS);
+                    return option;
+                })
+                .thenCompose(option -> {
+                    var futures = new ArrayList<CompletableFuture<SpawnResult>>(names.size());
+                    for (var sn : names) {
+                        // 构造玩家对象同样分摊到多个 tick, 避免一次性构造所有假人
+                        var fpTimer = this.spawnProfiler.start();
+                        futures.add(scheduler
+                                .supply(this.spawnStagger, () -> {
+                                    var fp = new FakePlayer(creator, address, sn);
+                                    fpTimer.lap(SpawnProfiler.Stage.CREATE);
+                                    return fp;
+                                })
+                                .thenCompose(fp -> fp
+                                        .spawnAsync(option, this.spawnStagger, fpTimer)
+                                        .thenApply(nul -> {
+                                            this.onSpawned(fp, removeAt);
+                                            return new SpawnResult(fp.getName(), fp.getPlayer(), null);
+                                        }))
+                                .exceptionally(e -> {
+                                    this.releaseName(sn);
+                                    return new SpawnResult(sn.name(), null, e);
+                                }));
+                    }
+                    return CompletableFuture
+                            .allOf(futures.toArray(CompletableFuture[]::new))
+                            .thenApply(nul -> futures.stream().map(CompletableFuture::join).toList());
+                })
+                .thenApply(results -> {
+                    var targets = results.stream().map(SpawnResult::player).filter(Objects::nonNull).toList();
+                    if (!targets.isEmpty()) {
+                        scheduler.runTaskLater(() -> {
+                            for (var target : targets) {
+                                this.dispatchCommands(target, config.getPreparingCommands());
+                                scheduler.execute(target, () -> this.issueCommands(target, config.getSelfCommands()));
+                            }
+                        }, 20);
+                    }
+                    return results;
+                })
+                .whenComplete((results, e) -> {
+                    if (e != null) {
+                        names.forEach(this::releaseName);
+                    }
                 });
     }
 
+    /**
+     * 恢复关服前记录的假人
+     * <p>不经过准入控制, 由 {@link RosterRestorer} 控制速率, 但和召唤一样检查创建者的权限以及数量限制; 构造玩家以及进入世界的工作同样按照 {@code spawn-budget-nanos} 分摊到多个 tick</p>
+     * <p>诞生后恢复关服时正在执行的动作</p>
+     *
+     * @param creator 创建者
+     * @param entry   关服时记录的假人
+     * @return 诞生后的假人
+     */
+    public @NotNull CompletableFuture<Player> restoreAsync(@NotNull CommandSender creator, @NotNull RosterEntry entry) {
+        var spawnAt = entry.getLocation();
+        if (spawnAt == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("world '%s' no longer exists".formatted(entry.world())));
+        }
+        if (entry.removeAt() > 0 && entry.removeAt() <= System.currentTimeMillis()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("lifespan ended"));
+        }
+        if (!creator.hasPermission(Permission.spawn)) {
+            return CompletableFuture.failedFuture(new MessageException(i18n.asString("fakeplayer.restore.error.no-permission")));
+        }
+        try {
+            this.checkLimit(creator);
+        } catch (MessageException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        var sn = entry.sequenceName();
+        if (!this.nameManager.claim(sn)) {
+            return CompletableFuture.failedFuture(new IllegalStateException("name is already in use"));
+        }
+
+        var timer = this.spawnProfiler.start();
+        var address = AddressUtils.getAddress(creator);
+        var option = entry.toSpawnOption(spawnAt);
+        return scheduler
+                .supply(this.spawnStagger, () -> {
+                    var fp = new FakePlayer(creator, address, sn);
+                    timer.lap(SpawnProfiler.Stage.CREATE);
+                    return fp;
+                })
+                .thenCompose(fp -> fp
+                        .spawnAsync(option, this.spawnStagger, timer)
+                        .thenApply(nul -> {
+                            this.onSpawned(fp, entry.removeAt());
+                            var target = fp.getPlayer();
+                            scheduler.execute(target, () -> entry.actions().forEach((type, setting) -> this.actionManager.setAction(fp, type, setting)));
+                            scheduler.runTaskLater(() -> this.dispatchCommands(target, config.getPreparingCommands()), 20);
+                            scheduler.runTaskLater(target, () -> this.issueCommands(target, config.getSelfCommands()), 20);
+                            return target;
+                        }))
+                .whenComplete((target, e) -> {
+                    if (e != null) {
+                        this.releaseName(sn);
+                    }
+                });
+    }
+
+    /**
+     * 诞生失败时归还序列名
+     * <p>名称管理只在主线程上修改, 失败的回调可能在任意线程上执行</p>
+     *
+     * @param sn 序列名
+     */
+    private void releaseName(@NotNull SequenceName sn) {
+        scheduler.runTask(() -> this.nameManager.unregister(sn));
+    }
+
+    /**
+     * 记录所有在线的假人, 用于下次启动时恢复
+     *
+     * @return 在线的假人
+     */
+    private @NotNull List<RosterEntry> getRosterEntries() {
+        var fakeplayers = this.playerList.toRosterArray(new FakePlayer[0]);
+        var entries = new ArrayList<RosterEntry>(fakeplayers.length);
+        for (var fp : fakeplayers) {
+            if (fp == null || !fp.isOnline()) {
+                continue;
+            }
+
+            var target = fp.getPlayer();
+            var location = target.getLocation();
+            var removeAt = this.lifespans.getDeadline(fp.getUUID());
+            entries.add(new RosterEntry(
+                    fp.getSequenceName(),
+                    fp.getCreator() instanceof Player p ? p.getUniqueId() : null,
+                    fp.getCreator().getName(),
+                    location.getWorld().getName(),
+                    location.getX(),
+                    location.getY(),
+                    location.getZ(),
+                    location.getYaw(),
+                    location.getPitch(),
+                    removeAt == null ? 0 : removeAt,
+                    target.isInvulnerable(),
+                    target.isCollidable(),
+                    target.getCanPickupItems(),
+                    fp.getOption() != null && fp.getOption().skin(),
+                    this.isReplenish(target),
+                    target.getViewDistance(),
+                    target.getSimulationDistance(),
+                    this.actionManager.getActionSettings(fp)
+            ));
+        }
+        return entries;
+    }
+
+    /**
+     * 读取创建者的配置作为诞生选项, 会访问数据库
+     *
+     * @param creator 创建者
+     * @param spawnAt 生成地点
+     * @return 诞生选项
+     */
+    private @NotNull SpawnOption getSpawnOption(@NotNull CommandSender creator, @NotNull Location spawnAt) {
+        var configs = configManager.getConfigs(creator);
+        return new SpawnOption(
+                spawnAt,
+                configs.getOrDefault(Config.invulnerable),
+                configs.getOrDefault(Config.collidable),
+                configs.getOrDefault(Config.look_at_entity),
+                configs.getOrDefault(Config.pickup_items),
+                configs.getOrDefault(Config.skin),
+                configs.getOrDefault(Config.replenish),
+                configs.getOrDefault(Config.view_distance),
+                configs.getOrDefault(Config.simulation_distance)
+        );
+    }
+
+    /**
+     * 登记已经诞生的假人
+     *
+     * @param fp       假人
+     * @param removeAt 移除时间, 小于等于 0 表示永久存活
+     */
+    private void onSpawned(@NotNull FakePlayer fp, long removeAt) {
+        fp.markSpawned();
+        var target = fp.getPlayer();
+        scheduler.runTask(() -> {
+            this.playerList.add(fp);
+            this.usedIdRepository.add(target.getUniqueId());
+            if (removeAt > 0) {
+                this.lifespans.schedule(target.getUniqueId(), removeAt);
+            }
+        });
+    }
+
     /**
      * 获取一个假人
      *
@@ -228,10 +649,10 @@ public class FakeplayerManager {
             return false;
         }
 
-        target.kick(textOfChildren(
+        scheduler.execute(target, () -> target.kick(textOfChildren(
                 text("[fakeplayer] "),
                 reason == null ? text("removed") : reason
-        ));
+        )));
         return true;
     }
 
@@ -242,8 +663,9 @@ public class FakeplayerManager {
      */
     public int removeAll(@Nullable String reason) {
         var targets = getAll();
+        var message = text("[fakeplayer] " + (reason == null ? "removed" : reason));
         for (var target : targets) {
-            target.kick(text("[fakeplayer] " + (reason == null ? "removed" : reason)));
+            scheduler.execute(target, () -> target.kick(message));
         }
         return targets.size();
     }
@@ -277,6 +699,9 @@ public class FakeplayerManager {
         if (fakeplayer == null) {
             return;
         }
+        this.lifespans.cancel(fakeplayer.getUUID());
+        this.profiler.remove(fakeplayer.getUUID());
+        this.actionManager.stop(fakeplayer);
         this.nameManager.unregister(fakeplayer.getSequenceName());
         if (config.isDropInventoryOnQuiting()) {
             this.nms.createAction(
@@ -322,6 +747,33 @@ public class FakeplayerManager {
         return this.playerList.getByUUID(target.getUniqueId()) != null;
     }
 
+    /**
+     * 设置假人休眠状态
+     * <p>休眠的假人保留位置以及区块加载, 但是不再进行时刻运算</p>
+     *
+     * @param target      假人
+     * @param hibernating 是否休眠
+     */
+    public void setHibernating(@NotNull Player target, boolean hibernating) {
+        var fp = this.playerList.getByUUID(target.getUniqueId());
+        if (fp == null) {
+            return;
+        }
+        fp.getTicker().setHibernating(hibernating);
+    }
+
+    /**
+     * 判断假人是否正在休眠
+     *
+     * @param target 假人
+     * @return 是否正在休眠, 如果不是假人则返回 {@code false}
+     */
+    public boolean isHibernating(@NotNull Player target) {
+        return Optional.ofNullable(this.playerList.getByUUID(target.getUniqueId()))
+                       .map(fp -> fp.getTicker().isHibernating())
+                       .orElse(false);
+    }
+
     /**
      * 判断一名玩家不是假人
      *
@@ -369,6 +821,16 @@ public class FakeplayerManager {
         }
     }
 
+    /**
+     * 设置假人的视距
+     *
+     * @param target       假人
+     * @param viewDistance 视距
+     */
+    public void setViewDistance(@NotNull Player target, int viewDistance) {
+        target.setViewDistance(viewDistance);
+    }
+
     /**
      * 判断假人是否自动补货
      *
@@ -530,5 +992,24 @@ public class FakeplayerManager {
         }
     }
 
+    /**
+     * @param creator 创建者
+     * @return 创建者还可以召唤的假人数量
+     */
+    private int getRemainingLimit(@NotNull CommandSender creator) {
+        if (creator.isOp()) {
+            return Integer.MAX_VALUE;
+        }
+
+        var remaining = Math.min(
+                this.config.getServerLimit() - this.playerList.count(),
+                this.config.getPlayerLimit() - this.playerList.getByCreator(creator.getName()).size()
+        );
+        if (this.config.isDetectIp()) {
+            remaining = Math.min(remaining, this.config.getPlayerLimit() - (int) this.countByAddress(AddressUtils.getAddress(creator)));
+        }
+        return Math.max(0, remaining);
+    }
+
 
 }
@@ -0,0 +1,289 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.bedrock.i18n.I18n;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.entity.FakePlayer;
+import io.github.hello09x.fakeplayer.core.manager.action.ActionManager;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import lombok.Getter;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+import static net.kyori.adventure.text.format.TextDecoration.ITALIC;
+
+/**
+ * 负载保护
+ * <p>每 tick 采样服务器 MSPT, 超过阈值时逐级进入降频、休眠、停止动作、移除假人阶段, 每次只升级或者降级一个阶段</p>
+ * <p>每个阶段至少保持 {@code hold-ticks} 个 tick, 并且 MSPT 需要低于当前阶段阈值减去 {@code hysteresis} 才会降级, 避免来回切换</p>
+ */
+@Singleton
+public class LoadSheddingManager implements Listener {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    /**
+     * MSPT 指数移动平均的平滑系数
+     */
+    private final static double ALPHA = 0.05;
+
+    /**
+     * 休眠、移除假人的执行间隔
+     */
+    private final static int APPLY_INTERVAL = 20;
+
+    /**
+     * 每批最多移除假人的比例
+     */
+    private final static int REMOVE_BATCH_DIVISOR = 20;
+
+    private final I18n i18n = Main.getI18n();
+
+    private final FakeplayerManager manager;
+    private final FakeplayerList playerList;
+    private final ActionManager actionManager;
+    private final FakeplayerConfig config;
+    private final FakeplayerScheduler scheduler;
+
+    /**
+     * 由负载保护休眠的假人, 恢复时只唤醒这些假人
+     */
+    private final Set<UUID> hibernated = new HashSet<>();
+
+    @Getter
+    private volatile Stage stage = Stage.NORMAL;
+
+    @Getter
+    private double mspt;
+
+    private int stageTicks;
+
+    @Inject
+    public LoadSheddingManager(FakeplayerManager manager, FakeplayerList playerList, ActionManager actionManager, FakeplayerConfig config, FakeplayerScheduler scheduler) {
+        this.manager = manager;
+        this.playerList = playerList;
+        this.actionManager = actionManager;
+        this.config = config;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return 是否需要让所有假人降频运算
+     */
+    public boolean isThrottling() {
+        return this.isActive(Stage.THROTTLE);
+    }
+
+    /**
+     * @return 是否需要停止所有假人的动作, 此时不允许设置新的动作
+     */
+    public boolean isStoppingActions() {
+        return this.isActive(Stage.STOP_ACTIONS);
+    }
+
+    /**
+     * @param stage 阶段
+     * @return 当前是否达到了这个阶段, 并且这个阶段是启用的
+     */
+    private boolean isActive(@NotNull Stage stage) {
+        return this.stage.compareTo(stage) >= 0 && stage.threshold(config) > 0;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(@NotNull ServerTickEndEvent event) {
+        this.mspt = this.mspt == 0 ? event.getTickDuration() : this.mspt * (1 - ALPHA) + event.getTickDuration() * ALPHA;
+        this.stageTicks++;
+
+        if (this.stageTicks >= config.getSheddingHoldTicks()) {
+            var next = this.nextStage();
+            if (next != this.stage) {
+                this.transit(next);
+            }
+        }
+
+        if (this.stageTicks % APPLY_INTERVAL == 0) {
+            if (this.isActive(Stage.HIBERNATE)) {
+                this.hibernateIdle();
+            }
+            if (this.isActive(Stage.STOP_ACTIONS)) {
+                // 插件内部或者其他插件依然可能设置动作, 阶段保持期间持续停止
+                this.stopActions();
+            }
+            if (this.stage == Stage.REMOVE) {
+                this.removeBatch();
+            }
+        }
+    }
+
+    /**
+     * @return 根据当前 MSPT 计算的下一个阶段, 每次只会相差一个启用的阶段
+     */
+    private @NotNull Stage nextStage() {
+        var stages = Stage.values();
+        for (int i = this.stage.ordinal() + 1; i < stages.length; i++) {
+            var threshold = stages[i].threshold(config);
+            if (threshold > 0) {
+                if (this.mspt > threshold) {
+                    return stages[i];
+                }
+                break;
+            }
+        }
+
+        if (this.stage != Stage.NORMAL && this.mspt < this.stage.threshold(config) - config.getSheddingHysteresis()) {
+            for (int i = this.stage.ordinal() - 1; i > 0; i--) {
+                if (stages[i].threshold(config) > 0) {
+                    return stages[i];
+                }
+            }
+            return Stage.NORMAL;
+        }
+        return this.stage;
+    }
+
+    private void transit(@NotNull Stage next) {
+        log.info("[load-shedding] %s -> %s, mspt: %.2f".formatted(this.stage, next, this.mspt));
+        var stopping = this.isActive(Stage.STOP_ACTIONS);
+        var hibernating = this.isActive(Stage.HIBERNATE);
+        this.stage = next;
+        this.stageTicks = 0;
+
+        if (!stopping && this.isActive(Stage.STOP_ACTIONS)) {
+            this.stopActions();
+        }
+        if (hibernating && !this.isActive(Stage.HIBERNATE)) {
+            this.resumeHibernated();
+        }
+    }
+
+    /**
+     * 停止所有假人的动作
+     */
+    private void stopActions() {
+        var count = 0;
+        for (var fp : this.playerList.getAll()) {
+            if (!fp.hasActiveAction()) {
+                continue;
+            }
+            this.actionManager.stop(fp);
+            count++;
+        }
+        if (count > 0) {
+            log.info("[load-shedding] stopped actions of %d fake players".formatted(count));
+        }
+    }
+
+    /**
+     * 休眠所有没有动作的假人
+     */
+    private void hibernateIdle() {
+        for (var fp : this.playerList.getAll()) {
+            var ticker = fp.getTicker();
+            if (ticker.isHibernating() || fp.hasActiveAction()) {
+                continue;
+            }
+            this.hibernated.add(fp.getUUID());
+            this.scheduler.execute(fp.getPlayer(), () -> ticker.setHibernating(true));
+        }
+    }
+
+    /**
+     * 唤醒由负载保护休眠的假人
+     */
+    private void resumeHibernated() {
+        var count = 0;
+        for (var uuid : this.hibernated) {
+            var fp = this.playerList.getByUUID(uuid);
+            if (fp == null) {
+                continue;
+            }
+            this.scheduler.execute(fp.getPlayer(), () -> fp.getTicker().setHibernating(false));
+            count++;
+        }
+        this.hibernated.clear();
+        log.info("[load-shedding] resumed %d hibernated fake players".formatted(count));
+    }
+
+    /**
+     * 按照配置的顺序移除一批假人
+     */
+    private void removeBatch() {
+        var players = this.playerList.getAll();
+        if (players.isEmpty()) {
+            return;
+        }
+
+        var newest = Comparator.comparingLong(FakePlayer::getSpawnedAt).reversed();
+        var order = switch (config.getRemovalOrder()) {
+            case NEWEST -> newest;
+            case IDLE -> Comparator
+                    .comparing(FakePlayer::hasActiveAction)
+                    .thenComparing(newest);
+            case OVER_QUOTA -> Comparator
+                    .<FakePlayer>comparingInt(fp -> -this.playerList.countByCreator(fp.getCreator().getName()))
+                    .thenComparing(newest);
+        };
+
+        var batch = players
+                .stream()
+                .sorted(order)
+                .limit(Math.max(1, players.size() / REMOVE_BATCH_DIVISOR))
+                .toList();
+        for (var fp : batch) {
+            this.manager.remove(fp.getName(), "server overloaded");
+        }
+
+        log.info("[load-shedding] removed %d fake players, mspt: %.2f".formatted(batch.size(), this.mspt));
+        Bukkit.broadcast(i18n.translate(
+                "fakeplayer.manager.load-shedding.removed", GRAY,
+                Placeholder.component("count", text(batch.size(), WHITE))
+        ).decorate(ITALIC));
+    }
+
+    /**
+     * 负载保护阶段, 后面的阶段包含前面阶段的措施
+     */
+    public enum Stage {
+
+        NORMAL,
+
+        THROTTLE,
+
+        HIBERNATE,
+
+        STOP_ACTIONS,
+
+        REMOVE;
+
+        /**
+         * @return 进入这个阶段的 MSPT 阈值, 小于等于 0 表示不启用
+         */
+        public double threshold(@NotNull FakeplayerConfig config) {
+            return switch (this) {
+                case NORMAL -> 0;
+                case THROTTLE -> config.getThrottleMspt();
+                case HIBERNATE -> config.getHibernateMspt();
+                case STOP_ACTIONS -> config.getStopActionsMspt();
+                case REMOVE -> config.getRemoveMspt();
+            };
+        }
+
+    }
+
+}
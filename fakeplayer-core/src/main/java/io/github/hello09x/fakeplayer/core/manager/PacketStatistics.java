@@ -0,0 +1,125 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.api.network.FakePlayerPacketStatistics;
+import io.github.hello09x.fakeplayer.api.network.PacketStatistic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 假人收到的数据包统计
+ * <p>按照数据包类型计数, 并且按照 1/{@link #SAMPLE_RATE} 的比例抽样序列化后的大小, 用于估算假人给网络层带来的开销</p>
+ * <p>计数使用 {@link LongAdder}, 多个线程同时发送数据包时不会互相竞争</p>
+ */
+@Singleton
+public class PacketStatistics implements FakePlayerPacketStatistics {
+
+    /**
+     * 抽样比例
+     */
+    private final static int SAMPLE_RATE = 64;
+
+    private final Map<Class<?>, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 统计开始的时间
+     */
+    private volatile long since = System.currentTimeMillis();
+
+    /**
+     * 记录一个数据包
+     *
+     * @param type 数据包类型
+     * @return 是否需要抽样这个数据包的大小
+     */
+    public boolean record(@NotNull Class<?> type) {
+        this.counters.computeIfAbsent(type, Counter::new).count.increment();
+        return ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0;
+    }
+
+    /**
+     * 记录一个抽样的数据包大小
+     *
+     * @param type  数据包类型
+     * @param bytes 序列化后的大小, 小于 0 表示无法序列化
+     */
+    public void recordSize(@NotNull Class<?> type, int bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        var counter = this.counters.computeIfAbsent(type, Counter::new);
+        counter.samples.increment();
+        counter.sampledBytes.add(bytes);
+    }
+
+    /**
+     * @param top 数量
+     * @return 估算总大小最高的数据包类型
+     */
+    @Override
+    public @NotNull List<PacketStatistic> getTop(int top) {
+        return this.counters
+                .values()
+                .stream()
+                .map(Counter::snapshot)
+                .sorted(Comparator.comparingLong(PacketStatistic::estimatedBytes).thenComparingLong(PacketStatistic::count).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    /**
+     * @return 所有数据包的数量
+     */
+    @Override
+    public long getTotalCount() {
+        long total = 0;
+        for (var counter : this.counters.values()) {
+            total += counter.count.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return 统计开始的时间
+     */
+    @Override
+    public long getSince() {
+        return this.since;
+    }
+
+    /**
+     * 清空统计
+     */
+    @Override
+    public void reset() {
+        this.counters.clear();
+        this.since = System.currentTimeMillis();
+    }
+
+    private final static class Counter {
+
+        private final String name;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder samples = new LongAdder();
+
+        private final LongAdder sampledBytes = new LongAdder();
+
+        private Counter(@NotNull Class<?> type) {
+            this.name = type.getSimpleName();
+        }
+
+        private @NotNull PacketStatistic snapshot() {
+            return new PacketStatistic(this.name, this.count.sum(), this.samples.sum(), this.sampledBytes.sum());
+        }
+
+    }
+
+}
@@ -0,0 +1,128 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.logging.Logger;
+
+/**
+ * 插件消息转发
+ * <p>假人没有客户端, 发给假人的 BungeeCord 插件消息需要借助一名真实玩家的连接转发给代理端</p>
+ * <p>消息先放入队列, 每 tick 统一转发一次; 没有真实玩家时暂存在队列中, 超出容量时丢弃最早的消息</p>
+ */
+@Singleton
+public class PluginMessageForwarder implements Listener {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    /**
+     * 最多暂存的消息数量
+     */
+    private final static int CAPACITY = 1024;
+
+    private final FakeplayerManager manager;
+
+    private final ArrayDeque<Message> pending = new ArrayDeque<>();
+
+    /**
+     * 缓存的转发者, 下线时失效
+     */
+    @Nullable
+    private volatile Player recipient;
+
+    /**
+     * 本次积压期间是否已经提示过丢弃消息
+     */
+    private boolean overflowed;
+
+    @Inject
+    public PluginMessageForwarder(FakeplayerManager manager, FakeplayerScheduler scheduler) {
+        this.manager = manager;
+        scheduler.runTaskTimer(this::flush, 1, 1);
+    }
+
+    /**
+     * 将消息放入转发队列, 可以在任意线程调用
+     *
+     * @param channel 频道
+     * @param message 消息
+     */
+    public void forward(@NotNull String channel, byte @NotNull [] message) {
+        synchronized (this.pending) {
+            if (this.pending.size() >= CAPACITY) {
+                this.pending.pollFirst();
+                if (!this.overflowed) {
+                    this.overflowed = true;
+                    log.warning("Too many plugin messages are waiting for a real player to forward, dropping the oldest ones");
+                }
+            }
+            this.pending.addLast(new Message(channel, message));
+        }
+    }
+
+    /**
+     * 转发队列中的所有消息
+     */
+    private void flush() {
+        synchronized (this.pending) {
+            if (this.pending.isEmpty()) {
+                return;
+            }
+        }
+
+        var recipient = this.getRecipient();
+        if (recipient == null) {
+            return;
+        }
+
+        var plugin = Main.getInstance();
+        synchronized (this.pending) {
+            Message message;
+            while ((message = this.pending.pollFirst()) != null) {
+                recipient.sendPluginMessage(plugin, message.channel, message.data);
+            }
+            this.overflowed = false;
+        }
+    }
+
+    /**
+     * @return 一名在线的真实玩家
+     */
+    private @Nullable Player getRecipient() {
+        var recipient = this.recipient;
+        if (recipient != null && recipient.isOnline()) {
+            return recipient;
+        }
+
+        recipient = Bukkit
+                .getOnlinePlayers()
+                .stream()
+                .filter(manager::isNotFake)
+                .findAny()
+                .orElse(null);
+        this.recipient = recipient;
+        return recipient;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        if (event.getPlayer() == this.recipient) {
+            this.recipient = null;
+        }
+    }
+
+    private record Message(@NotNull String channel, byte @NotNull [] data) {
+    }
+
+}
@@ -0,0 +1,172 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.common.base.Throwables;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.bedrock.command.MessageException;
+import io.github.hello09x.bedrock.i18n.I18n;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.entity.RosterEntry;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import io.github.hello09x.fakeplayer.core.util.TokenBucket;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.logging.Logger;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+
+/**
+ * 启动后恢复关服前的假人
+ * <p>每 tick 从 {@link RosterSnapshot} 中按照 {@code restore.order} 取出创建者已经在线的假人, 按照 {@code restore.rate} 的速率恢复,
+ * 恢复不经过召唤准入控制, 进入世界的工作同样按照 {@code spawn-budget-nanos} 分摊到多个 tick</p>
+ * <p>控制台创建的假人直接恢复, 玩家创建的假人等到创建者上线后才恢复; 创建者没有召唤权限或者超出数量限制的假人会被放弃</p>
+ */
+@Singleton
+public class RosterRestorer {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    private final I18n i18n = Main.getI18n();
+
+    private final FakeplayerManager manager;
+
+    private final RosterSnapshot snapshot;
+
+    private final FakeplayerConfig config;
+
+    private final long startedAt = System.currentTimeMillis();
+
+    @Nullable
+    private TokenBucket bucket;
+
+    /**
+     * 创建 {@link #bucket} 时的速率, 重载配置后速率不同时重新创建
+     */
+    private double rate;
+
+    /**
+     * 是否已经放弃了等待创建者上线超时的假人
+     */
+    private boolean expired;
+
+    @Inject
+    public RosterRestorer(FakeplayerManager manager, RosterSnapshot snapshot, FakeplayerConfig config, FakeplayerScheduler scheduler) {
+        this.manager = manager;
+        this.snapshot = snapshot;
+        this.config = config;
+        scheduler.runTaskTimer(this::tick, 1, 1);
+    }
+
+    private static @Nullable CommandSender getCreator(@NotNull RosterEntry entry) {
+        if (entry.creatorId() == null) {
+            return Bukkit.getConsoleSender();
+        }
+        return Bukkit.getPlayer(entry.creatorId());
+    }
+
+    private static boolean isCreatorOnline(@NotNull RosterEntry entry) {
+        return entry.creatorId() != null && Bukkit.getPlayer(entry.creatorId()) != null;
+    }
+
+    /**
+     * 按照速率恢复创建者在线的假人
+     */
+    private void tick() {
+        if (!this.config.isRestoreRoster() || this.snapshot.getPending() == 0) {
+            return;
+        }
+        this.expire();
+
+        var now = System.nanoTime();
+        var bucket = this.getBucket(now);
+        while (bucket == null || bucket.canAcquire(1, now)) {
+            var entry = this.poll();
+            if (entry == null) {
+                break;
+            }
+            if (bucket != null) {
+                bucket.tryAcquire(1, now);
+            }
+            this.restore(entry);
+        }
+    }
+
+    /**
+     * @return 下一个可以恢复的假人
+     */
+    private @Nullable RosterEntry poll() {
+        return switch (this.config.getRestoreOrder()) {
+            case ONLINE_FIRST -> {
+                var entry = this.snapshot.poll(RosterRestorer::isCreatorOnline);
+                yield entry != null ? entry : this.snapshot.poll(e -> e.creatorId() == null);
+            }
+            case SNAPSHOT -> this.snapshot.poll(e -> getCreator(e) != null);
+        };
+    }
+
+    /**
+     * 放弃创建者超过 {@code restore.max-wait} 仍未上线的假人
+     */
+    private void expire() {
+        var maxWait = this.config.getRestoreMaxWait();
+        if (this.expired || maxWait == null || System.currentTimeMillis() - this.startedAt < maxWait.toMillis()) {
+            return;
+        }
+        this.expired = true;
+
+        var dropped = this.snapshot.removeIf(entry -> entry.creatorId() != null && Bukkit.getPlayer(entry.creatorId()) == null);
+        if (dropped > 0) {
+            log.info("Dropped %d fake players whose creators did not come online within %d minutes".formatted(dropped, maxWait.toMinutes()));
+        }
+    }
+
+    private void restore(@NotNull RosterEntry entry) {
+        var creator = getCreator(entry);
+        if (creator == null) {
+            return;
+        }
+
+        var name = entry.sequenceName().name();
+        this.manager.restoreAsync(creator, entry).whenComplete((player, e) -> {
+            if (e == null) {
+                creator.sendMessage(i18n.translate(
+                        "fakeplayer.restore.success", GRAY,
+                        Placeholder.component("name", text(name, WHITE))
+                ));
+                return;
+            }
+
+            if (Throwables.getRootCause(e) instanceof MessageException me) {
+                log.info("Dropped fake player %s of %s: %s".formatted(name, entry.creatorName(), me.getMessage()));
+                creator.sendMessage(i18n.translate(
+                        "fakeplayer.restore.failed", GRAY,
+                        Placeholder.component("name", text(name, WHITE)),
+                        Placeholder.component("reason", me.asComponent())
+                ));
+            } else {
+                log.warning("Failed to restore fake player %s: %s".formatted(name, Throwables.getRootCause(e).getMessage()));
+            }
+        });
+    }
+
+    private @Nullable TokenBucket getBucket(long now) {
+        var rate = this.config.getRestoreRate();
+        if (rate <= 0) {
+            this.bucket = null;
+            return null;
+        }
+        if (this.bucket == null || this.rate != rate) {
+            this.bucket = new TokenBucket(rate, Math.max(1, rate), now);
+            this.rate = rate;
+        }
+        return this.bucket;
+    }
+
+}
@@ -0,0 +1,301 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.entity.RosterEntry;
+import io.github.hello09x.fakeplayer.core.manager.naming.SequenceName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * 假人名单快照
+ * <p>关服时将所有假人写入数据目录下的 {@value #FILE_NAME}, 启动时载入为待恢复的假人, 由 {@link RosterRestorer} 逐个取出恢复</p>
+ * <p>待恢复的假人全部取出或者放弃后才删除文件, 恢复期间异常关服时下次启动会重新恢复整个文件; 正常关服时还没有恢复的假人会和在线的假人一起重新写入</p>
+ */
+@Singleton
+public class RosterSnapshot {
+
+    private final static String FILE_NAME = "roster.bin";
+
+    private final static int MAGIC = 0x46505253;
+
+    private final static int VERSION = 1;
+
+    private final File file;
+
+    private final Logger log;
+
+    /**
+     * 待恢复的假人, 按照关服时的顺序排列
+     */
+    private final LinkedList<RosterEntry> pending = new LinkedList<>();
+
+    @Inject
+    public RosterSnapshot() {
+        this(new File(Main.getInstance().getDataFolder(), FILE_NAME), Main.getInstance().getLogger());
+    }
+
+    RosterSnapshot(@NotNull File file, @NotNull Logger log) {
+        this.file = file;
+        this.log = log;
+        this.load();
+    }
+
+    /**
+     * 按顺序取出第一个满足条件的待恢复假人
+     *
+     * @param predicate 条件
+     * @return 待恢复的假人, 没有时为 {@code null}
+     */
+    public @Nullable RosterEntry poll(@NotNull Predicate<RosterEntry> predicate) {
+        synchronized (this.pending) {
+            var it = this.pending.iterator();
+            while (it.hasNext()) {
+                var entry = it.next();
+                if (predicate.test(entry)) {
+                    it.remove();
+                    this.deleteIfDrained();
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * 放弃满足条件的待恢复假人
+     *
+     * @param predicate 条件
+     * @return 放弃的数量
+     */
+    public int removeIf(@NotNull Predicate<RosterEntry> predicate) {
+        synchronized (this.pending) {
+            var size = this.pending.size();
+            if (this.pending.removeIf(predicate)) {
+                this.deleteIfDrained();
+            }
+            return size - this.pending.size();
+        }
+    }
+
+    /**
+     * @return 待恢复的假人数量
+     */
+    public int getPending() {
+        synchronized (this.pending) {
+            return this.pending.size();
+        }
+    }
+
+    /**
+     * 放弃所有待恢复的假人并删除文件, 用于关闭了恢复功能时
+     */
+    public void clear() {
+        synchronized (this.pending) {
+            this.pending.clear();
+        }
+        this.file.delete();
+    }
+
+    /**
+     * 将在线的假人以及还没有恢复的假人写入文件, 先写入临时文件再替换
+     *
+     * @param active 在线的假人
+     */
+    public void save(@NotNull List<RosterEntry> active) {
+        var entries = new ArrayList<>(active);
+        var uuids = new HashSet<UUID>();
+        for (var entry : active) {
+            uuids.add(entry.sequenceName().uuid());
+        }
+        synchronized (this.pending) {
+            for (var entry : this.pending) {
+                if (uuids.add(entry.sequenceName().uuid())) {
+                    entries.add(entry);
+                }
+            }
+        }
+
+        if (entries.isEmpty()) {
+            this.file.delete();
+            return;
+        }
+
+        var temp = new File(this.file.getParentFile(), this.file.getName() + ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (var entry : entries) {
+                    write(out, entry);
+                }
+            }
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warning("Failed to save the fake player roster: " + e.getMessage());
+            return;
+        }
+        log.info("Saved %d fake players to restore on next startup".formatted(entries.size()));
+    }
+
+    /**
+     * 从文件载入待恢复的假人, 文件保留到全部取出或者放弃为止
+     */
+    private void load() {
+        if (!this.file.exists()) {
+            return;
+        }
+
+        var entries = new ArrayList<RosterEntry>();
+        try (var in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warning("Ignored the fake player roster with an unknown format: " + this.file);
+                return;
+            }
+
+            var size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                entries.add(read(in));
+            }
+        } catch (IOException e) {
+            log.warning("Failed to load the fake player roster: " + e.getMessage());
+            return;
+        }
+
+        synchronized (this.pending) {
+            this.pending.addAll(entries);
+        }
+        log.info("Loaded %d fake players to restore".formatted(entries.size()));
+    }
+
+    /**
+     * 待恢复的假人全部取出后删除文件, 调用时需要持有 {@link #pending} 的锁
+     */
+    private void deleteIfDrained() {
+        if (this.pending.isEmpty()) {
+            this.file.delete();
+        }
+    }
+
+    private static void write(@NotNull DataOutput out, @NotNull RosterEntry entry) throws IOException {
+        var sn = entry.sequenceName();
+        out.writeUTF(sn.group());
+        out.writeInt(sn.sequence());
+        out.writeLong(sn.uuid().getMostSignificantBits());
+        out.writeLong(sn.uuid().getLeastSignificantBits());
+        out.writeUTF(sn.name());
+
+        out.writeBoolean(entry.creatorId() != null);
+        if (entry.creatorId() != null) {
+            out.writeLong(entry.creatorId().getMostSignificantBits());
+            out.writeLong(entry.creatorId().getLeastSignificantBits());
+        }
+        out.writeUTF(entry.creatorName());
+
+        out.writeUTF(entry.world());
+        out.writeDouble(entry.x());
+        out.writeDouble(entry.y());
+        out.writeDouble(entry.z());
+        out.writeFloat(entry.yaw());
+        out.writeFloat(entry.pitch());
+        out.writeLong(entry.removeAt());
+
+        out.writeBoolean(entry.invulnerable());
+        out.writeBoolean(entry.collidable());
+        out.writeBoolean(entry.pickupItems());
+        out.writeBoolean(entry.skin());
+        out.writeBoolean(entry.replenish());
+        out.writeInt(entry.viewDistance());
+        out.writeInt(entry.simulationDistance());
+
+        out.writeInt(entry.actions().size());
+        for (var action : entry.actions().entrySet()) {
+            var setting = action.getValue();
+            out.writeUTF(action.getKey().name());
+            out.writeInt(setting.maximum);
+            out.writeInt(setting.remains);
+            out.writeInt(setting.interval);
+            out.writeInt(setting.wait);
+        }
+    }
+
+    private static @NotNull RosterEntry read(@NotNull DataInput in) throws IOException {
+        var sn = new SequenceName(
+                in.readUTF(),
+                in.readInt(),
+                new UUID(in.readLong(), in.readLong()),
+                in.readUTF()
+        );
+
+        var creatorId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+        var creatorName = in.readUTF();
+
+        var world = in.readUTF();
+        var x = in.readDouble();
+        var y = in.readDouble();
+        var z = in.readDouble();
+        var yaw = in.readFloat();
+        var pitch = in.readFloat();
+        var removeAt = in.readLong();
+
+        var invulnerable = in.readBoolean();
+        var collidable = in.readBoolean();
+        var pickupItems = in.readBoolean();
+        var skin = in.readBoolean();
+        var replenish = in.readBoolean();
+        var viewDistance = in.readInt();
+        var simulationDistance = in.readInt();
+
+        var size = in.readInt();
+        var actions = new EnumMap<Action.ActionType, Action.ActionSetting>(Action.ActionType.class);
+        for (int i = 0; i < size; i++) {
+            var type = in.readUTF();
+            var setting = new Action.ActionSetting(in.readInt(), 1);
+            setting.remains = in.readInt();
+            setting.interval = in.readInt();
+            setting.wait = in.readInt();
+            try {
+                actions.put(Action.ActionType.valueOf(type), setting);
+            } catch (IllegalArgumentException ignored) {
+                // 动作类型已经不存在
+            }
+        }
+
+        return new RosterEntry(
+                sn,
+                creatorId,
+                creatorName,
+                world,
+                x,
+                y,
+                z,
+                yaw,
+                pitch,
+                removeAt,
+                invulnerable,
+                collidable,
+                pickupItems,
+                skin,
+                replenish,
+                viewDistance,
+                simulationDistance,
+                actions
+        );
+    }
+
+}
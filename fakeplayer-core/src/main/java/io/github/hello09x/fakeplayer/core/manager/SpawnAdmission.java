@@ -0,0 +1,138 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.bedrock.command.MessageException;
+import io.github.hello09x.bedrock.i18n.I18n;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import io.github.hello09x.fakeplayer.core.util.AdmissionQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.Placeholder;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+
+import static net.kyori.adventure.text.Component.text;
+import static net.kyori.adventure.text.format.NamedTextColor.GRAY;
+import static net.kyori.adventure.text.format.NamedTextColor.WHITE;
+
+/**
+ * 召唤准入控制
+ * <p>全服和每名创建者各有一个令牌桶, 令牌不足的召唤请求进入有界队列按顺序排队, 每 tick 检查一次, 避免召唤集中在同一个 tick 开始</p>
+ * <p>批量召唤按照召唤的数量消耗令牌, 超过令牌桶容量的部分作为欠款, 之后的请求需要等待欠款还清</p>
+ * <p>排队中的请求如果只是创建者的令牌不足, 不会阻塞其他创建者的请求; 同一名创建者的请求按顺序开始. 排队规则参考 {@link AdmissionQueue}</p>
+ */
+@Singleton
+public class SpawnAdmission {
+
+    private final I18n i18n = Main.getI18n();
+
+    private final FakeplayerConfig config;
+
+    private final AdmissionQueue<Request<?>> queue = new AdmissionQueue<>();
+
+    @Inject
+    public SpawnAdmission(FakeplayerConfig config, FakeplayerScheduler scheduler) {
+        this.config = config;
+        scheduler.runTaskTimer(this::drain, 1, 1);
+    }
+
+    private static <T> @NotNull CompletableFuture<T> start(@NotNull Callable<CompletableFuture<T>> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * 申请开始召唤, 令牌充足并且没有排队的请求时立即开始, 否则进入队列并告知创建者排队位置
+     *
+     * @param creator 创建者
+     * @param amount  召唤的假人数量, 全部计入令牌消耗
+     * @param task    开始召唤
+     * @return 召唤结果
+     * @throws MessageException 队列已满
+     */
+    public <T> @NotNull CompletableFuture<T> admit(
+            @NotNull CommandSender creator,
+            int amount,
+            @NotNull Callable<CompletableFuture<T>> task
+    ) throws MessageException {
+        int position;
+        var request = new Request<>(task);
+        synchronized (this.queue) {
+            var now = System.nanoTime();
+            this.updateRates(now);
+            if (this.queue.tryAdmit(creator.getName(), amount, now)) {
+                return start(task);
+            }
+            if (this.queue.size() >= this.config.getSpawnQueueSize()) {
+                throw new MessageException(i18n.translate("fakeplayer.command.spawn.error.queue-full", GRAY));
+            }
+            position = this.queue.enqueue(creator.getName(), amount, request);
+        }
+
+        creator.sendMessage(i18n.translate(
+                "fakeplayer.command.spawn.queued", GRAY,
+                Placeholder.component("position", text(position, WHITE))
+        ));
+        return request.future;
+    }
+
+    /**
+     * @return 排队中的请求数量
+     */
+    public int getQueued() {
+        synchronized (this.queue) {
+            return this.queue.size();
+        }
+    }
+
+    /**
+     * 按顺序开始令牌充足的请求
+     */
+    private void drain() {
+        List<Request<?>> ready;
+        synchronized (this.queue) {
+            var now = System.nanoTime();
+            this.updateRates(now);
+            ready = this.queue.drain(now);
+        }
+
+        for (var request : ready) {
+            request.start();
+        }
+    }
+
+    private void updateRates(long now) {
+        this.queue.setRates(this.config.getServerSpawnRate(), this.config.getCreatorSpawnRate(), now);
+    }
+
+    private final static class Request<T> {
+
+        final Callable<CompletableFuture<T>> task;
+
+        final CompletableFuture<T> future = new CompletableFuture<>();
+
+        Request(@NotNull Callable<CompletableFuture<T>> task) {
+            this.task = task;
+        }
+
+        void start() {
+            SpawnAdmission.start(this.task).whenComplete((result, e) -> {
+                if (e != null) {
+                    this.future.completeExceptionally(e);
+                } else {
+                    this.future.complete(result);
+                }
+            });
+        }
+
+    }
+
+}
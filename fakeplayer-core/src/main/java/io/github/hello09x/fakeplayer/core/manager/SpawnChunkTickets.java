@@ -0,0 +1,70 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 假人诞生期间保持出生点区块加载的票据
+ * <p>插件区块票据每个插件在每个区块上只有一张, 不会计数; 多个假人在相邻的位置分批诞生时, 先传送完成的假人移除票据会让之后的假人需要的区块被卸载</p>
+ * <p>因此按照区块记录引用数量, 第一次引用时添加票据, 最后一次释放时移除票据</p>
+ */
+@Singleton
+public class SpawnChunkTickets {
+
+    /**
+     * 世界 -> 区块 -> 引用数量
+     */
+    private final Map<UUID, Map<Long, Integer>> references = new HashMap<>();
+
+    /**
+     * 引用一个区块, 第一次引用时添加票据
+     *
+     * @param world 世界
+     * @param x     区块 x 坐标
+     * @param z     区块 z 坐标
+     */
+    public synchronized void acquire(@NotNull World world, int x, int z) {
+        var chunks = this.references.computeIfAbsent(world.getUID(), key -> new HashMap<>());
+        if (chunks.merge(Chunk.getChunkKey(x, z), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(x, z, Main.getInstance());
+        }
+    }
+
+    /**
+     * 释放一个区块的引用, 最后一次释放时移除票据
+     *
+     * @param world 世界
+     * @param x     区块 x 坐标
+     * @param z     区块 z 坐标
+     */
+    public synchronized void release(@NotNull World world, int x, int z) {
+        var chunks = this.references.get(world.getUID());
+        if (chunks == null) {
+            return;
+        }
+
+        var key = Chunk.getChunkKey(x, z);
+        var count = chunks.get(key);
+        if (count == null) {
+            return;
+        }
+        if (count > 1) {
+            chunks.put(key, count - 1);
+            return;
+        }
+
+        chunks.remove(key);
+        if (chunks.isEmpty()) {
+            this.references.remove(world.getUID());
+        }
+        world.removePluginChunkTicket(x, z, Main.getInstance());
+    }
+
+}
@@ -0,0 +1,321 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import io.github.hello09x.fakeplayer.core.util.RollingHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 假人诞生耗时统计
+ * <p>按照 {@link Stage} 记录诞生流程中每个阶段的耗时, 包括在异步线程和主线程之间排队等待的时间</p>
+ * <p>诞生时触发的事件通过 {@link #callEvent(Event)} 派发, 默认由服务器正常派发, 耗时计入所在的阶段;
+ * 开启 {@code profile-spawn-listeners} 后逐个调用监听器并按照插件记录耗时, 单次超过 {@link #SLOW_LISTENER_NANOS} 时打印警告</p>
+ * <p>每 {@link #WINDOW_TICKS} 个 tick 滚动一次窗口, 统计结果覆盖最近一到两个窗口</p>
+ */
+@Singleton
+public class SpawnProfiler {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    /**
+     * 滚动窗口的长度
+     */
+    private final static int WINDOW_TICKS = 20 * 60 * 5;
+
+    /**
+     * 单个监听器处理一次事件超过这个时间时打印警告
+     */
+    private final static long SLOW_LISTENER_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Map<Stage, RollingHistogram> stages = new EnumMap<>(Stage.class);
+
+    /**
+     * 每个事件中每个插件的监听器耗时
+     */
+    private final Map<ListenerKey, RollingHistogram> listeners = new HashMap<>();
+
+    /**
+     * 本窗口内已经警告过的监听器
+     */
+    private final Set<ListenerKey> warned = new HashSet<>();
+
+    private final FakeplayerConfig config;
+
+    @Inject
+    public SpawnProfiler(FakeplayerScheduler scheduler, FakeplayerConfig config) {
+        this.config = config;
+        for (var stage : Stage.values()) {
+            this.stages.put(stage, new RollingHistogram());
+        }
+        scheduler.runTaskTimer(this::rotate, WINDOW_TICKS, WINDOW_TICKS);
+    }
+
+    /**
+     * @return 从现在开始计时的计时器
+     */
+    public @NotNull Timer start() {
+        return new Timer(System.nanoTime());
+    }
+
+    /**
+     * 记录一个阶段的耗时
+     *
+     * @param stage 阶段
+     * @param nanos 耗时, 单位: 纳秒
+     */
+    public void record(@NotNull Stage stage, long nanos) {
+        synchronized (this) {
+            this.stages.get(stage).record(nanos);
+        }
+    }
+
+    /**
+     * 派发诞生时的事件
+     * <p>默认通过 {@link org.bukkit.plugin.PluginManager#callEvent(Event)} 派发</p>
+     * <p>开启 {@code profile-spawn-listeners} 后逐个调用事件的监听器并记录每个插件的耗时, 与 {@link org.bukkit.plugin.PluginManager#callEvent(Event)} 一样检查线程并忽略已经禁用的插件,
+     * 监听器抛出的异常只会被记录</p>
+     *
+     * @param event 事件
+     * @return 事件
+     */
+    public <E extends Event> @NotNull E callEvent(@NotNull E event) {
+        if (!this.config.isProfileSpawnListeners()) {
+            Bukkit.getPluginManager().callEvent(event);
+            return event;
+        }
+
+        if (event.isAsynchronous() && Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException(event.getEventName() + " may only be triggered asynchronously.");
+        }
+        if (!event.isAsynchronous() && !Bukkit.isPrimaryThread()) {
+            throw new IllegalStateException(event.getEventName() + " may only be triggered synchronously.");
+        }
+
+        for (var listener : event.getHandlers().getRegisteredListeners()) {
+            var plugin = listener.getPlugin();
+            if (!plugin.isEnabled()) {
+                continue;
+            }
+
+            var start = System.nanoTime();
+            try {
+                listener.callEvent(event);
+            } catch (EventException e) {
+                log.log(Level.SEVERE, "Could not pass event %s to %s".formatted(event.getEventName(), plugin.getName()), e.getCause() != null ? e.getCause() : e);
+            } catch (Throwable e) {
+                log.log(Level.SEVERE, "Could not pass event %s to %s".formatted(event.getEventName(), plugin.getName()), e);
+            }
+            var elapsed = System.nanoTime() - start;
+
+            var key = new ListenerKey(event.getEventName(), plugin.getName());
+            boolean warn;
+            synchronized (this) {
+                this.listeners.computeIfAbsent(key, k -> new RollingHistogram()).record(elapsed);
+                warn = elapsed >= SLOW_LISTENER_NANOS && this.warned.add(key);
+            }
+            if (warn) {
+                log.warning("Plugin %s took %.1fms to handle %s of a fake player, this slows down spawning".formatted(
+                        plugin.getName(),
+                        elapsed / 1_000_000D,
+                        event.getEventName()
+                ));
+            }
+        }
+        return event;
+    }
+
+    /**
+     * @return 每个阶段的耗时
+     */
+    public @NotNull Map<Stage, Summary> getStages() {
+        var summaries = new EnumMap<Stage, Summary>(Stage.class);
+        synchronized (this) {
+            for (var entry : this.stages.entrySet()) {
+                summaries.put(entry.getKey(), Summary.of(entry.getValue()));
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * @param top 数量
+     * @return 平均耗时最高的监听器
+     */
+    public @NotNull List<ListenerSummary> getSlowListeners(int top) {
+        synchronized (this) {
+            return this.listeners
+                    .entrySet()
+                    .stream()
+                    .filter(entry -> entry.getValue().count() > 0)
+                    .map(entry -> new ListenerSummary(entry.getKey().event, entry.getKey().plugin, Summary.of(entry.getValue())))
+                    .sorted(Comparator.comparingLong((ListenerSummary s) -> s.summary().mean()).reversed())
+                    .limit(top)
+                    .toList();
+        }
+    }
+
+    private synchronized void rotate() {
+        for (var histogram : this.stages.values()) {
+            histogram.rotate();
+        }
+        this.listeners.values().removeIf(histogram -> {
+            histogram.rotate();
+            return histogram.count() == 0;
+        });
+        this.warned.clear();
+    }
+
+    /**
+     * 诞生流程的阶段
+     */
+    public enum Stage {
+
+        /**
+         * 在准入控制中排队
+         */
+        QUEUE,
+
+        /**
+         * 构造玩家对象, 批量召唤时包括分摊到多个 tick 的等待时间
+         */
+        CREATE,
+
+        /**
+         * 读取创建者的配置, 批量召唤时只记录一次
+         */
+        OPTIONS,
+
+        /**
+         * 等待异步线程开始执行
+         */
+        ASYNC_WAIT,
+
+        /**
+         * {@link org.bukkit.event.player.AsyncPlayerPreLoginEvent}
+         */
+        PRE_LOGIN,
+
+        /**
+         * 异步加载出生点区块
+         */
+        CHUNK_PRELOAD,
+
+        /**
+         * 等待主线程开始执行
+         */
+        MAIN_WAIT,
+
+        /**
+         * {@link org.bukkit.event.player.PlayerLoginEvent}
+         */
+        LOGIN,
+
+        /**
+         * {@link io.github.hello09x.fakeplayer.api.event.FakePlayerSpawnEvent}
+         */
+        SPAWN_EVENT,
+
+        /**
+         * 应用诞生选项以及复制皮肤
+         */
+        SKIN,
+
+        /**
+         * 进入世界, 即 {@code placeNewPlayer} 以及客户端选项设置
+         */
+        PLACE,
+
+        /**
+         * 获取刷怪能力, 即重新登记或者穿越维度
+         */
+        REJOIN,
+
+        /**
+         * 传送到出生点, 包括等待下一个 tick
+         */
+        TELEPORT,
+
+        /**
+         * 从开始诞生到传送完成的总耗时
+         */
+        TOTAL
+
+    }
+
+    /**
+     * @param count 样本数量
+     * @param mean  平均值, 单位: 纳秒
+     * @param p50   中位数, 单位: 纳秒
+     * @param p99   99 百分位数, 单位: 纳秒
+     */
+    public record Summary(long count, long mean, long p50, long p99) {
+
+        private static @NotNull Summary of(@NotNull RollingHistogram histogram) {
+            return new Summary(histogram.count(), histogram.mean(), histogram.percentile(0.5), histogram.percentile(0.99));
+        }
+
+    }
+
+    /**
+     * @param event   事件名称
+     * @param plugin  插件名称
+     * @param summary 耗时
+     */
+    public record ListenerSummary(@NotNull String event, @NotNull String plugin, @NotNull Summary summary) {
+    }
+
+    private record ListenerKey(@NotNull String event, @NotNull String plugin) {
+    }
+
+    /**
+     * 一次诞生的计时器, 每次 {@link #lap(Stage)} 记录距离上一次的耗时
+     */
+    public final class Timer {
+
+        private final long start;
+
+        private volatile long last;
+
+        private Timer(long start) {
+            this.start = start;
+            this.last = start;
+        }
+
+        /**
+         * 记录距离上一次的耗时作为这个阶段的耗时
+         *
+         * @param stage 阶段
+         */
+        public void lap(@NotNull Stage stage) {
+            var now = System.nanoTime();
+            SpawnProfiler.this.record(stage, now - this.last);
+            this.last = now;
+        }
+
+        /**
+         * 记录从开始到现在的总耗时
+         */
+        public void total() {
+            SpawnProfiler.this.record(Stage.TOTAL, System.nanoTime() - this.start);
+        }
+
+    }
+
+}
@@ -0,0 +1,68 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.common.base.Throwables;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.logging.Logger;
+
+/**
+ * 批量召唤时将主线程上的诞生工作分摊到多个 tick
+ * <p>每个 tick 在时间预算内执行排队的任务, 超出预算后剩下的顺延到下一个 tick, 每个 tick 至少执行一个</p>
+ */
+@Singleton
+public class SpawnStagger implements Executor {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    private final FakeplayerConfig config;
+
+    private final Queue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+    @Inject
+    public SpawnStagger(FakeplayerConfig config, FakeplayerScheduler scheduler) {
+        this.config = config;
+        scheduler.runTaskTimer(this::drain, 1, 1);
+    }
+
+    /**
+     * 将任务放入队列, 可以在任意线程调用
+     *
+     * @param task 任务
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        this.pending.offer(task);
+    }
+
+    /**
+     * @return 排队中的任务数量
+     */
+    public int getPending() {
+        return this.pending.size();
+    }
+
+    private void drain() {
+        var budget = this.config.getSpawnBudgetNanos();
+        var start = System.nanoTime();
+        Runnable task;
+        while ((task = this.pending.poll()) != null) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                log.severe(Throwables.getStackTraceAsString(e));
+            }
+            if (budget > 0 && System.nanoTime() - start >= budget) {
+                break;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import io.github.hello09x.fakeplayer.core.util.RollingHistogram;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 假人时刻运算耗时采样
+ * <p>关闭时调用方只读取一次 {@link #isEnabled()}, 不会调用 {@link System#nanoTime()} 也不会记录任何数据</p>
+ * <p>每 {@link #WINDOW_TICKS} 个 tick 滚动一次窗口, 统计结果覆盖最近一到两个窗口</p>
+ * <p>记录、滚动以及查询都在主线程进行, 因此不加锁, 查询结果也不能交给其他线程读取</p>
+ */
+@Singleton
+public class TickProfiler {
+
+    /**
+     * 滚动窗口的长度
+     */
+    private final static int WINDOW_TICKS = 600;
+
+    private final Map<UUID, Profile> profiles = new HashMap<>();
+
+    /**
+     * 所有假人按动作类型汇总的耗时
+     */
+    private final Map<Action.ActionType, RollingHistogram> actions = new EnumMap<>(Action.ActionType.class);
+
+    @Getter
+    private boolean enabled;
+
+    @Inject
+    public TickProfiler(FakeplayerScheduler scheduler) {
+        for (var type : Action.ActionType.values()) {
+            this.actions.put(type, new RollingHistogram());
+        }
+        scheduler.runTaskTimer(this::rotate, WINDOW_TICKS, WINDOW_TICKS);
+    }
+
+    /**
+     * 开启或关闭采样, 关闭时丢弃所有数据
+     *
+     * @param enabled 是否开启
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            this.profiles.clear();
+            for (var histogram : this.actions.values()) {
+                histogram.clear();
+            }
+        }
+    }
+
+    /**
+     * 记录一次 {@code FakeplayerTicker#tick()} 的耗时
+     *
+     * @param uuid  假人 UUID
+     * @param nanos 耗时, 单位: 纳秒
+     */
+    public void recordTick(@NotNull UUID uuid, long nanos) {
+        this.profiles.computeIfAbsent(uuid, Profile::new).tick.record(nanos);
+    }
+
+    /**
+     * 记录一次动作的耗时
+     *
+     * @param uuid  假人 UUID
+     * @param type  动作类型
+     * @param nanos 耗时, 单位: 纳秒
+     */
+    public void recordAction(@NotNull UUID uuid, @NotNull Action.ActionType type, long nanos) {
+        var profile = this.profiles.computeIfAbsent(uuid, Profile::new);
+        profile.actions.computeIfAbsent(type, key -> new RollingHistogram()).record(nanos);
+        this.actions.get(type).record(nanos);
+    }
+
+    /**
+     * 移除假人的采样数据
+     *
+     * @param uuid 假人 UUID
+     */
+    public void remove(@NotNull UUID uuid) {
+        this.profiles.remove(uuid);
+    }
+
+    /**
+     * @param top 数量
+     * @return 总耗时最高的假人
+     */
+    public @NotNull List<Profile> getTop(int top) {
+        return this.profiles
+                .values()
+                .stream()
+                .sorted(Comparator.comparingLong(Profile::total).reversed())
+                .limit(top)
+                .toList();
+    }
+
+    /**
+     * @return 所有假人按动作类型汇总的耗时
+     */
+    public @NotNull Map<Action.ActionType, RollingHistogram> getActions() {
+        return Collections.unmodifiableMap(this.actions);
+    }
+
+    private void rotate() {
+        if (!this.enabled) {
+            return;
+        }
+        for (var profile : this.profiles.values()) {
+            profile.tick.rotate();
+            for (var histogram : profile.actions.values()) {
+                histogram.rotate();
+            }
+        }
+        for (var histogram : this.actions.values()) {
+            histogram.rotate();
+        }
+    }
+
+    /**
+     * 单个假人的耗时
+     */
+    @Getter
+    public final static class Profile {
+
+        private final UUID uuid;
+
+        /**
+         * 时刻运算耗时
+         */
+        private final RollingHistogram tick = new RollingHistogram();
+
+        /**
+         * 各个动作的耗时
+         */
+        private final Map<Action.ActionType, RollingHistogram> actions = new EnumMap<>(Action.ActionType.class);
+
+        private Profile(@NotNull UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        /**
+         * @return 时刻运算与所有动作的总耗时
+         */
+        public long total() {
+            var total = this.tick.sum();
+            for (var histogram : this.actions.values()) {
+                total += histogram.sum();
+            }
+            return total;
+        }
+
+    }
+
+}
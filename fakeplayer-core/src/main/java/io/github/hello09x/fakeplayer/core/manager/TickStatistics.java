@@ -0,0 +1,34 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+/**
+ * 假人时刻运算统计
+ *
+ * @param budgetNanos   每 tick 的时间预算, 0 表示不限制
+ * @param lastUsedNanos 上一个 tick 的耗时
+ * @param avgUsedNanos  每 tick 的平均耗时
+ * @param ticked        上一个 tick 执行运算的假人数量
+ * @param deferred      上一个 tick 被顺延的假人数量
+ * @param forced        上一个 tick 因为连续顺延次数达到上限而超出预算执行的假人数量
+ * @param totalDeferred 累计顺延次数
+ * @param totalForced   累计超出预算执行次数
+ */
+public record TickStatistics(
+
+        long budgetNanos,
+
+        long lastUsedNanos,
+
+        long avgUsedNanos,
+
+        int ticked,
+
+        int deferred,
+
+        int forced,
+
+        long totalDeferred,
+
+        long totalForced
+
+) {
+}
@@ -5,6 +5,7 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.messaging.PluginMessageListener;
@@ -40,10 +41,10 @@ public class WildFakeplayerManager implements PluginMessageListener {
     private final Map<String, AtomicInteger> offline = new HashMap<>();
 
     @Inject
-    public WildFakeplayerManager(FakeplayerManager manager, FakeplayerConfig config) {
+    public WildFakeplayerManager(FakeplayerManager manager, FakeplayerConfig config, FakeplayerScheduler scheduler) {
         this.manager = manager;
         this.config = config;
-        Bukkit.getScheduler().runTaskTimer(Main.getInstance(), this::cleanup, 0, CLEANUP_PERIOD);
+        scheduler.runTaskTimer(this::cleanup, 0, CLEANUP_PERIOD);
     }
 
     @Override
@@ -3,28 +3,38 @@ package io.github.hello09x.fakeplayer.core.manager.action;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import io.github.hello09x.fakeplayer.api.spi.Action;
-import io.github.hello09x.fakeplayer.api.spi.ActionTicker;
 import io.github.hello09x.fakeplayer.api.spi.NMSBridge;
-import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.entity.FakePlayer;
+import io.github.hello09x.fakeplayer.core.entity.action.BaseActionTicker;
+import io.github.hello09x.fakeplayer.core.manager.FakeplayerList;
+import io.github.hello09x.fakeplayer.core.manager.TickProfiler;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
-import java.util.UUID;
 
+/**
+ * 动作管理
+ * <p>动作保存在每个假人的 {@link FakePlayer#getActions()} 中, 由假人的时刻运算统一驱动, 每 tick 不需要按 UUID 查找玩家</p>
+ */
 @Singleton
 public class ActionManager {
 
-    private final Map<UUID, Map<Action.ActionType, ActionTicker>> managers = new HashMap<>();
+    private final static Action.ActionType[] TYPES = Action.ActionType.values();
 
     private final NMSBridge bridge;
 
+    private final FakeplayerList playerList;
+
+    private final TickProfiler profiler;
+
     @Inject
-    public ActionManager(NMSBridge bridge) {
+    public ActionManager(NMSBridge bridge, FakeplayerList playerList, TickProfiler profiler) {
         this.bridge = bridge;
-        Bukkit.getScheduler().runTaskTimer(Main.getInstance(), this::tick, 0, 1);
+        this.playerList = playerList;
+        this.profiler = profiler;
     }
 
     public void setAction(
@@ -32,29 +42,100 @@ public class ActionManager {
             @NotNull Action.ActionType action,
             @NotNull Action.ActionSetting setting
     ) {
-        var managers = this.managers.computeIfAbsent(player.getUniqueId(), key -> new HashMap<>());
-        managers.put(action, bridge.createAction(player, action, setting));
+        var fakeplayer = this.playerList.getByUUID(player.getUniqueId());
+        if (fakeplayer == null) {
+            return;
+        }
+        this.setAction(fakeplayer, action, setting);
     }
 
-    public void tick() {
-        var itr = managers.entrySet().iterator();
-        while (itr.hasNext()) {
-            var entry = itr.next();
-            var player = Bukkit.getPlayer(entry.getKey());
-
-            if (player == null) {
-                // 假人下线
-                itr.remove();
-                for (var ticker : entry.getValue().values()) {
-                    ticker.stop();
-                }
+    public void setAction(
+            @NotNull FakePlayer fakeplayer,
+            @NotNull Action.ActionType action,
+            @NotNull Action.ActionSetting setting
+    ) {
+        fakeplayer.getActions().set(action, bridge.createAction(fakeplayer.getPlayer(), action, setting));
+    }
+
+    /**
+     * 执行一名假人所有到期的动作, 移除已经完成的动作
+     * <p>处于等待中的动作会在到期前被跳过, 所有动作都没有到期时只需要一次比较</p>
+     * <p>开启了耗时采样时按照动作类型记录耗时</p>
+     * <p>休眠中的假人不执行 {@code doTick}, 挖掘进度等依赖于它的动作无法正确执行, 因此暂停所有动作直到唤醒</p>
+     * <p>本 tick 因为降频跳过了运算的假人同样跳过动作, 到期的动作顺延到下一次运算</p>
+     *
+     * @param fakeplayer 假人
+     */
+    public void tick(@NotNull FakePlayer fakeplayer) {
+        if (fakeplayer.getTicker().isHibernating() || fakeplayer.getTicker().isSkipped()) {
+            return;
+        }
+        var actions = fakeplayer.getActions();
+        var now = Bukkit.getCurrentTick();
+        if (!actions.isDue(now)) {
+            return;
+        }
+        actions.begin();
+
+        var profiling = this.profiler.isEnabled();
+        var next = Integer.MAX_VALUE;
+        for (int i = 0; i < ActionSlots.SIZE; i++) {
+            var ticker = actions.get(i);
+            if (ticker == null) {
                 continue;
             }
+            if (!actions.wake(i, ticker, now)) {
+                next = Math.min(next, actions.getDueAt(i));
+                continue;
+            }
+
+            boolean done;
+            if (profiling) {
+                var start = System.nanoTime();
+                done = ticker.tick();
+                this.profiler.recordAction(fakeplayer.getUUID(), TYPES[i], System.nanoTime() - start);
+            } else {
+                done = ticker.tick();
+            }
+
+            if (done) {
+                actions.complete(i, ticker);
+                continue;
+            }
+            actions.sleep(i, ticker, now);
+            next = Math.min(next, actions.getDueAt(i));
+        }
+        actions.reschedule(next);
+    }
+
+    /**
+     * 获取一名假人正在执行的动作的当前设置
+     *
+     * @param fakeplayer 假人
+     * @return 动作类型以及设置的副本, 包含已经执行的次数
+     */
+    public @NotNull Map<Action.ActionType, Action.ActionSetting> getActionSettings(@NotNull FakePlayer fakeplayer) {
+        var actions = fakeplayer.getActions();
+        var settings = new EnumMap<Action.ActionType, Action.ActionSetting>(Action.ActionType.class);
+        for (int i = 0; i < ActionSlots.SIZE; i++) {
+            if (actions.get(i) instanceof BaseActionTicker ticker) {
+                settings.put(TYPES[i], ticker.getSetting().clone());
+            }
+        }
+        return settings;
+    }
 
-            // do tick
-            entry.getValue().values().removeIf(ActionTicker::tick);
-            if (entry.getValue().isEmpty()) {
-                itr.remove();
+    /**
+     * 停止并移除一名假人的所有动作
+     *
+     * @param fakeplayer 假人
+     */
+    public void stop(@NotNull FakePlayer fakeplayer) {
+        var actions = fakeplayer.getActions();
+        for (int i = 0; i < ActionSlots.SIZE; i++) {
+            var ticker = actions.remove(i);
+            if (ticker != null) {
+                ticker.stop();
             }
         }
     }
@@ -0,0 +1,160 @@
+package io.github.hello09x.fakeplayer.core.manager.action;
+
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.api.spi.ActionTicker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 一名假人正在执行的动作, 以 {@link Action.ActionType#ordinal()} 为下标
+ * <p>动作本身可能被命令线程替换, 因此使用原子数组; 调度状态只在假人所在的线程读写</p>
+ * <p>每个动作记录下一次需要执行的服务器 tick, 并汇总出最早的一个, 在此之前 {@link ActionManager} 不会遍历这名假人的动作</p>
+ */
+public class ActionSlots {
+
+    final static int SIZE = Action.ActionType.values().length;
+
+    private final AtomicReferenceArray<ActionTicker> tickers = new AtomicReferenceArray<>(SIZE);
+
+    /**
+     * 计算 {@link #dueAt} 时对应的动作, 与当前动作不一致说明动作已经被替换
+     */
+    private final ActionTicker[] scheduled = new ActionTicker[SIZE];
+
+    /**
+     * 下一次需要执行的服务器 tick
+     */
+    private final int[] dueAt = new int[SIZE];
+
+    /**
+     * 到期前跳过的 tick 数
+     */
+    private final int[] sleeping = new int[SIZE];
+
+    /**
+     * 所有动作中最早需要执行的服务器 tick
+     */
+    private int nextDueAt;
+
+    /**
+     * 是否有新设置的动作还没有被调度
+     */
+    private volatile boolean dirty;
+
+    /**
+     * @return 是否没有正在执行的动作
+     */
+    public boolean isEmpty() {
+        for (int i = 0; i < SIZE; i++) {
+            if (this.tickers.get(i) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 设置动作, 替换掉原有的动作
+     *
+     * @param type   动作类型
+     * @param ticker 动作
+     */
+    void set(@NotNull Action.ActionType type, @NotNull ActionTicker ticker) {
+        this.tickers.set(type.ordinal(), ticker);
+        this.dirty = true;
+    }
+
+    @Nullable ActionTicker get(int index) {
+        return this.tickers.get(index);
+    }
+
+    /**
+     * 移除动作
+     *
+     * @param index 下标
+     * @return 被移除的动作
+     */
+    @Nullable ActionTicker remove(int index) {
+        return this.tickers.getAndSet(index, null);
+    }
+
+    /**
+     * 移除已经完成的动作, 如果执行期间已经被替换成了新的动作则保留
+     *
+     * @param index  下标
+     * @param ticker 已经完成的动作
+     */
+    void complete(int index, @NotNull ActionTicker ticker) {
+        this.tickers.compareAndSet(index, ticker, null);
+        this.scheduled[index] = null;
+    }
+
+    /**
+     * @param now 当前服务器 tick
+     * @return 是否有动作到期
+     */
+    boolean isDue(int now) {
+        return this.dirty || now >= this.nextDueAt;
+    }
+
+    /**
+     * 开始遍历动作, 在这之后设置的动作会在下一个 tick 执行
+     */
+    void begin() {
+        this.dirty = false;
+    }
+
+    /**
+     * 判断动作是否到期, 到期时告诉动作跳过了多少个 tick
+     *
+     * @param index  下标
+     * @param ticker 动作
+     * @param now    当前服务器 tick
+     * @return 是否到期
+     */
+    boolean wake(int index, @NotNull ActionTicker ticker, int now) {
+        if (this.scheduled[index] != ticker) {
+            return true;
+        }
+        if (now < this.dueAt[index]) {
+            return false;
+        }
+        if (this.sleeping[index] > 0) {
+            ticker.skip(this.sleeping[index]);
+            this.sleeping[index] = 0;
+        }
+        return true;
+    }
+
+    /**
+     * 记录动作执行后可以休眠的 tick 数
+     *
+     * @param index  下标
+     * @param ticker 动作
+     * @param now    当前服务器 tick
+     */
+    void sleep(int index, @NotNull ActionTicker ticker, int now) {
+        var ticks = Math.max(0, ticker.sleepTicks());
+        this.scheduled[index] = ticker;
+        this.sleeping[index] = ticks;
+        this.dueAt[index] = now + 1 + ticks;
+    }
+
+    /**
+     * @param index 下标
+     * @return 动作下一次需要执行的服务器 tick
+     */
+    int getDueAt(int index) {
+        return this.dueAt[index];
+    }
+
+    /**
+     * @param next 所有动作中最早需要执行的服务器 tick
+     */
+    void reschedule(int next) {
+        this.nextDueAt = next;
+    }
+
+}
@@ -17,7 +17,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -183,6 +185,37 @@ public class NameManager {
         return new SequenceName("random", 0, uuidFromName(name), name);
     }
 
+    /**
+     * 一次获取多个序列名
+     *
+     * @param creator 创建者
+     * @param count   数量
+     * @return 序列名, 名称互不相同
+     */
+    public @NotNull List<SequenceName> register(@NotNull CommandSender creator, int count) {
+        var names = new ArrayList<SequenceName>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(this.register(creator));
+        }
+        return names;
+    }
+
+    /**
+     * 重新占用之前分配过的序列名, 用于恢复关服前的假人
+     *
+     * @param sn 序列名
+     * @return 是否占用成功, 名称已经被使用时为 {@code false}
+     */
+    public boolean claim(@NotNull SequenceName sn) {
+        if (Bukkit.getPlayerExact(sn.name()) != null || Bukkit.getPlayer(sn.uuid()) != null) {
+            return false;
+        }
+        if (sn.group().equals("custom") || sn.group().equals("random")) {
+            return true;
+        }
+        return nameSources.computeIfAbsent(sn.group(), key -> new NameSource(config.getPlayerLimit())).take(sn.sequence());
+    }
+
     /**
      * 归还序列名
      *
@@ -43,6 +43,23 @@ public class NameSource {
         return names.pop();
     }
 
+    /**
+     * 占用一个指定的名称序号, 容量不足时扩容
+     *
+     * @param i 名称序号
+     * @return 是否占用成功, 已经被使用时为 {@code false}
+     */
+    public boolean take(int i) {
+        while (i >= capacity) {
+            var newCapacity = Math.max(1, capacity * 2);
+            for (int j = capacity; j < newCapacity; j++) {
+                names.add(j);
+            }
+            this.capacity = newCapacity;
+        }
+        return names.remove((Integer) i);
+    }
+
     /**
      * 归还一个名称序号
      *
@@ -0,0 +1,23 @@
+package io.github.hello09x.fakeplayer.core.manager.skin;
+
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * 通过服务器的档案服务 (Mojang API) 获取皮肤材质
+ */
+public class MojangSkinResolver implements SkinResolver {
+
+    @Override
+    public @Nullable SkinTexture resolve(@NotNull UUID uuid) {
+        var profile = Bukkit.createProfile(uuid);
+        if (!profile.complete(true)) {
+            return null;
+        }
+        return SkinTexture.of(profile);
+    }
+
+}
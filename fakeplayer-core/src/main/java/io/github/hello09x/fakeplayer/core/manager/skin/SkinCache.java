@@ -0,0 +1,253 @@
+package io.github.hello09x.fakeplayer.core.manager.skin;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * 皮肤材质缓存
+ * <p>以来源玩家的 UUID 为键, 保存在内存的 LRU 以及数据目录下的 {@value #FILE_NAME} 中, 启动时从文件载入</p>
+ * <p>读取缓存不会等待任何远程请求, 超过 {@link #TTL} 的材质在后台通过 {@link SkinResolver} 刷新, 刷新完成之前继续使用旧的材质;
+ * 没有缓存的材质只有在 {@link #refreshAsync(UUID)} 时才会获取</p>
+ */
+@Singleton
+public class SkinCache {
+
+    private final static String FILE_NAME = "skins.bin";
+
+    private final static int MAGIC = 0x46505348;
+
+    private final static int VERSION = 1;
+
+    /**
+     * 内存中最多缓存的材质数量
+     */
+    final static int CAPACITY = 1024;
+
+    /**
+     * 超过这个时间的材质会在使用时后台刷新
+     */
+    final static long TTL = TimeUnit.DAYS.toMillis(1);
+
+    /**
+     * 超过这个时间的材质不再从文件载入
+     */
+    final static long MAX_AGE = TimeUnit.DAYS.toMillis(30);
+
+    /**
+     * 写入文件的间隔, 单位: tick
+     */
+    private final static long SAVE_INTERVAL = 20 * 60 * 5;
+
+    private final SkinResolver resolver;
+
+    /**
+     * 调用 {@link #resolver} 的执行器
+     */
+    private final Executor executor;
+
+    private final File file;
+
+    private final Logger log;
+
+    /**
+     * 按访问顺序排列, 超出容量时移除最久没有使用的材质
+     */
+    private final Map<UUID, SkinTexture> textures = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, SkinTexture> eldest) {
+            return this.size() > CAPACITY;
+        }
+    };
+
+    private final Map<UUID, CompletableFuture<SkinTexture>> refreshing = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty;
+
+    @Inject
+    public SkinCache(SkinResolver resolver, FakeplayerScheduler scheduler) {
+        this(resolver, scheduler.asyncExecutor(), new File(Main.getInstance().getDataFolder(), FILE_NAME), Main.getInstance().getLogger());
+
+        scheduler.runTaskAsynchronously(this::load);
+        scheduler.runTaskTimer(() -> {
+            if (this.dirty) {
+                scheduler.runTaskAsynchronously(this::save);
+            }
+        }, SAVE_INTERVAL, SAVE_INTERVAL);
+        Main.getInstance().registerOnDisable(this::save);
+    }
+
+    SkinCache(@NotNull SkinResolver resolver, @NotNull Executor executor, @NotNull File file, @NotNull Logger log) {
+        this.resolver = resolver;
+        this.executor = executor;
+        this.file = file;
+        this.log = log;
+    }
+
+    /**
+     * 获取缓存的材质, 过期时在后台刷新
+     *
+     * @param uuid 来源玩家 UUID
+     * @return 缓存的材质, 可能已经过期; 没有缓存时为 {@code null}
+     */
+    public @Nullable SkinTexture get(@NotNull UUID uuid) {
+        SkinTexture texture;
+        synchronized (this.textures) {
+            texture = this.textures.get(uuid);
+        }
+        if (texture != null && System.currentTimeMillis() - texture.fetchedAt() > TTL) {
+            this.refreshAsync(uuid);
+        }
+        return texture;
+    }
+
+    /**
+     * 记录一名玩家已经加载的材质
+     *
+     * @param uuid    来源玩家 UUID
+     * @param texture 材质
+     */
+    public void put(@NotNull UUID uuid, @NotNull SkinTexture texture) {
+        synchronized (this.textures) {
+            this.textures.put(uuid, texture);
+        }
+        this.dirty = true;
+    }
+
+    /**
+     * 在后台重新获取材质, 同一名玩家同时只会有一个请求
+     *
+     * @param uuid 来源玩家 UUID
+     * @return 获取到的材质, 获取失败时为 {@code null}
+     */
+    public @NotNull CompletableFuture<SkinTexture> refreshAsync(@NotNull UUID uuid) {
+        var future = this.refreshing.computeIfAbsent(uuid, key -> this
+                .resolveAsync(key)
+                .handle((texture, e) -> {
+                    if (e != null) {
+                        log.warning("Failed to fetch the skin of %s: %s".formatted(key, e.getMessage()));
+                        return null;
+                    }
+                    if (texture != null) {
+                        this.put(key, texture);
+                    }
+                    return texture;
+                }));
+        future.whenComplete((texture, e) -> this.refreshing.remove(uuid, future));
+        return future;
+    }
+
+    private @NotNull CompletableFuture<SkinTexture> resolveAsync(@NotNull UUID uuid) {
+        var future = new CompletableFuture<SkinTexture>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(this.resolver.resolve(uuid));
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 从文件载入材质, 不会覆盖载入期间记录的材质
+     */
+    void load() {
+        if (!this.file.exists()) {
+            return;
+        }
+
+        var now = System.currentTimeMillis();
+        var loaded = 0;
+        try (var in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                log.warning("Ignored the skin cache file with an unknown format: " + this.file);
+                return;
+            }
+
+            var size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                var uuid = new UUID(in.readLong(), in.readLong());
+                var fetchedAt = in.readLong();
+                var value = in.readUTF();
+                var signature = in.readBoolean() ? in.readUTF() : null;
+                if (now - fetchedAt > MAX_AGE) {
+                    continue;
+                }
+
+                synchronized (this.textures) {
+                    this.textures.putIfAbsent(uuid, new SkinTexture(value, signature, fetchedAt));
+                }
+                loaded++;
+            }
+        } catch (IOException e) {
+            log.warning("Failed to load the skin cache: " + e.getMessage());
+        }
+        log.info("Loaded %d skins from the cache".formatted(loaded));
+    }
+
+    /**
+     * 将材质写入文件, 先写入临时文件再替换, 避免写入中途关服导致文件损坏
+     */
+    synchronized void save() {
+        if (!this.dirty) {
+            return;
+        }
+        this.dirty = false;
+
+        ArrayList<Map.Entry<UUID, SkinTexture>> entries;
+        synchronized (this.textures) {
+            entries = new ArrayList<>(this.textures.size());
+            for (var entry : this.textures.entrySet()) {
+                entries.add(Map.entry(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        var temp = new File(this.file.getParentFile(), FILE_NAME + ".tmp");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (var entry : entries) {
+                    var uuid = entry.getKey();
+                    var texture = entry.getValue();
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                    out.writeLong(texture.fetchedAt());
+                    out.writeUTF(texture.value());
+                    out.writeBoolean(texture.signature() != null);
+                    if (texture.signature() != null) {
+                        out.writeUTF(texture.signature());
+                    }
+                }
+            }
+            Files.move(temp.toPath(), this.file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            this.dirty = true;
+            log.warning("Failed to save the skin cache: " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,22 @@
+package io.github.hello09x.fakeplayer.core.manager.skin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * 获取玩家皮肤材质, 会在异步线程调用
+ */
+public interface SkinResolver {
+
+    /**
+     * 获取玩家的皮肤材质
+     *
+     * @param uuid 玩家 UUID
+     * @return 材质, 玩家不存在或者没有皮肤时为 {@code null}
+     * @throws Exception 获取失败
+     */
+    @Nullable SkinTexture resolve(@NotNull UUID uuid) throws Exception;
+
+}
@@ -0,0 +1,51 @@
+package io.github.hello09x.fakeplayer.core.manager.skin;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * 皮肤材质
+ *
+ * @param value     材质属性的值
+ * @param signature 材质属性的签名
+ * @param fetchedAt 获取时间
+ */
+public record SkinTexture(
+        @NotNull
+        String value,
+
+        @Nullable
+        String signature,
+
+        long fetchedAt
+
+) {
+
+    public final static String PROPERTY_NAME = "textures";
+
+    /**
+     * 从玩家档案中读取材质
+     *
+     * @param profile 玩家档案
+     * @return 材质, 档案没有材质时为 {@code null}
+     */
+    public static @Nullable SkinTexture of(@NotNull PlayerProfile profile) {
+        return profile
+                .getProperties()
+                .stream()
+                .filter(p -> p.getName().equals(PROPERTY_NAME))
+                .findAny()
+                .map(p -> new SkinTexture(p.getValue(), p.getSignature(), System.currentTimeMillis()))
+                .orElse(null);
+    }
+
+    /**
+     * @return 玩家档案中的材质属性
+     */
+    public @NotNull ProfileProperty toProperty() {
+        return new ProfileProperty(PROPERTY_NAME, this.value, this.signature);
+    }
+
+}
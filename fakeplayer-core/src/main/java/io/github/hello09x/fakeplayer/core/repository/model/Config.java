@@ -4,6 +4,7 @@ import io.github.hello09x.fakeplayer.core.Main;
 import io.github.hello09x.fakeplayer.core.command.Permission;
 import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
 import net.kyori.adventure.translation.Translatable;
+import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
@@ -17,6 +18,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 /**
  * @param key            配置项 key
@@ -136,6 +138,34 @@ public record Config<T>(
             new Accessor<>(Main.getInjector().getInstance(FakeplayerManager.class)::isReplenish, Main.getInjector().getInstance(FakeplayerManager.class)::setReplenish)
     );
 
+    /**
+     * 视距, 不能超过服务器的视距
+     */
+    public static Config<Integer> view_distance = build(
+            "view_distance",
+            "fakeplayer.config.view_distance",
+            Integer.class,
+            Bukkit.getViewDistance(),
+            distances(Bukkit.getViewDistance()),
+            null,
+            Integer::valueOf,
+            new Accessor<>(Player::getViewDistance, Main.getInjector().getInstance(FakeplayerManager.class)::setViewDistance)
+    );
+
+    /**
+     * 模拟距离, 不能超过服务器的模拟距离
+     */
+    public static Config<Integer> simulation_distance = build(
+            "simulation_distance",
+            "fakeplayer.config.simulation_distance",
+            Integer.class,
+            Bukkit.getSimulationDistance(),
+            distances(Bukkit.getSimulationDistance()),
+            null,
+            Integer::valueOf,
+            new Accessor<>(Player::getSimulationDistance, Player::setSimulationDistance)
+    );
+
     @SuppressWarnings("unchecked")
     public static @NotNull <T> Config<T> valueOf(@NotNull String name) {
         return (Config<T>) valueOfOpt(name).orElseThrow(() -> new IllegalArgumentException("No config named: " + name));
@@ -165,6 +195,18 @@ public record Config<T>(
         return config;
     }
 
+    /**
+     * @param maximum 最大距离
+     * @return 2 到最大距离之间的偶数, 以及最大距离本身
+     */
+    private static @NotNull List<String> distances(int maximum) {
+        var max = Math.max(2, maximum);
+        return IntStream
+                .concat(IntStream.rangeClosed(1, max / 2).map(i -> i * 2), max % 2 == 0 ? IntStream.empty() : IntStream.of(max))
+                .mapToObj(String::valueOf)
+                .toList();
+    }
+
     public boolean hasPermission(@NotNull CommandSender player) {
         return this.permission == null || player.hasPermission(this.permission);
     }
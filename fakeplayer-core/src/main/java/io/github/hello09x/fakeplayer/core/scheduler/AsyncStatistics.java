@@ -0,0 +1,31 @@
+package io.github.hello09x.fakeplayer.core.scheduler;
+
+/**
+ * 异步执行器统计
+ *
+ * @param parallelism  最多同时执行的任务数量
+ * @param running      正在执行的任务数量
+ * @param queued       排队中的任务数量
+ * @param peakQueued   排队任务数量的峰值
+ * @param completed    累计完成的任务数量
+ * @param rejected     累计因为队列已满而拒绝的任务数量
+ * @param avgWaitNanos 任务的平均排队时间
+ */
+public record AsyncStatistics(
+
+        int parallelism,
+
+        int running,
+
+        int queued,
+
+        int peakQueued,
+
+        long completed,
+
+        long rejected,
+
+        long avgWaitNanos
+
+) {
+}
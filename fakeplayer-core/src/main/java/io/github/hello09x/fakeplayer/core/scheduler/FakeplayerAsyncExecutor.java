@@ -0,0 +1,135 @@
+package io.github.hello09x.fakeplayer.core.scheduler;
+
+import com.google.common.base.Throwables;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * 假人专用的异步执行器
+ * <p>读取数据库、登陆前事件等可能阻塞的工作在这里执行, 不占用 {@link java.util.concurrent.ForkJoinPool#commonPool()} 以及其他插件共享的线程池</p>
+ * <p>任务在虚拟线程上执行, 同时执行的任务数量不超过 {@code async-executor.parallelism}, 其余的任务进入有界队列, 队列已满时拒绝</p>
+ */
+@Singleton
+public class FakeplayerAsyncExecutor implements Executor {
+
+    private final static Logger log = Main.getInstance().getLogger();
+
+    private final ThreadFactory threadFactory = Thread.ofVirtual().name("fakeplayer-async-", 0).factory();
+
+    private final FakeplayerConfig config;
+
+    private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 排队中的任务数量, {@link ConcurrentLinkedQueue#size()} 需要遍历整个队列
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final AtomicInteger peakQueued = new AtomicInteger();
+
+    /**
+     * 正在运行的工作线程数量
+     */
+    private final AtomicInteger running = new AtomicInteger();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    @Inject
+    public FakeplayerAsyncExecutor(FakeplayerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 将任务放入队列, 有空闲的并发数时立即开始执行
+     *
+     * @param task 任务
+     * @throws RejectedExecutionException 队列已满
+     */
+    @Override
+    public void execute(@NotNull Runnable task) {
+        var size = this.queued.incrementAndGet();
+        if (size > this.config.getAsyncQueueSize()) {
+            this.queued.decrementAndGet();
+            this.rejected.increment();
+            throw new RejectedExecutionException("Too many fake player tasks are waiting to run asynchronously");
+        }
+        this.peakQueued.accumulateAndGet(size, Math::max);
+        this.queue.add(new Task(task, System.nanoTime()));
+        this.tryStartWorker();
+    }
+
+    /**
+     * @return 执行器统计
+     */
+    public @NotNull AsyncStatistics getStatistics() {
+        var completed = this.completed.sum();
+        return new AsyncStatistics(
+                this.config.getAsyncParallelism(),
+                this.running.get(),
+                this.queued.get(),
+                this.peakQueued.get(),
+                completed,
+                this.rejected.sum(),
+                completed == 0 ? 0 : this.waitNanos.sum() / completed
+        );
+    }
+
+    /**
+     * 工作线程数量没有达到上限并且队列不为空时启动一个工作线程
+     */
+    private void tryStartWorker() {
+        while (!this.queue.isEmpty()) {
+            var running = this.running.get();
+            if (running >= this.config.getAsyncParallelism()) {
+                return;
+            }
+            if (this.running.compareAndSet(running, running + 1)) {
+                this.threadFactory.newThread(this::work).start();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 依次执行队列中的任务直到队列为空
+     */
+    private void work() {
+        try {
+            Task task;
+            while ((task = this.queue.poll()) != null) {
+                this.queued.decrementAndGet();
+                this.waitNanos.add(System.nanoTime() - task.queuedAt);
+                try {
+                    task.runnable.run();
+                } catch (Throwable e) {
+                    log.severe(Throwables.getStackTraceAsString(e));
+                } finally {
+                    this.completed.increment();
+                }
+            }
+        } finally {
+            this.running.decrementAndGet();
+        }
+        // 退出前放入的任务可能没有启动新的工作线程
+        this.tryStartWorker();
+    }
+
+    private record Task(@NotNull Runnable runnable, long queuedAt) {
+    }
+
+}
@@ -0,0 +1,189 @@
+package io.github.hello09x.fakeplayer.core.scheduler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import io.github.hello09x.fakeplayer.core.Main;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 调度器
+ * <p>所有插件任务都经过这里调度, 目前使用 {@link Bukkit#getScheduler()}, 所有同步任务都在主线程执行</p>
+ * <p>假人诞生等工作中可能阻塞的异步任务使用 {@link FakeplayerAsyncExecutor}</p>
+ */
+@Singleton
+public class FakeplayerScheduler {
+
+    private final FakeplayerAsyncExecutor asyncExecutor;
+
+    @Inject
+    public FakeplayerScheduler(FakeplayerAsyncExecutor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    /**
+     * 在下一 tick 执行全局任务
+     *
+     * @param task 任务
+     */
+    public void runTask(@NotNull Runnable task) {
+        Bukkit.getScheduler().runTask(Main.getInstance(), task);
+    }
+
+    /**
+     * 延迟执行全局任务
+     *
+     * @param task  任务
+     * @param delay 延迟 tick 数
+     */
+    public void runTaskLater(@NotNull Runnable task, long delay) {
+        Bukkit.getScheduler().runTaskLater(Main.getInstance(), task, delay);
+    }
+
+    /**
+     * 定时执行全局任务
+     *
+     * @param task   任务
+     * @param delay  延迟 tick 数
+     * @param period 间隔 tick 数
+     */
+    public void runTaskTimer(@NotNull Runnable task, long delay, long period) {
+        Bukkit.getScheduler().runTaskTimer(Main.getInstance(), task, delay, period);
+    }
+
+    /**
+     * 在实体所在的线程执行任务, 如果当前已经在该线程上则立即执行
+     *
+     * @param entity 实体
+     * @param task   任务
+     */
+    public void execute(@NotNull Entity entity, @NotNull Runnable task) {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            this.runTask(entity, task);
+        }
+    }
+
+    /**
+     * 在下一 tick 于实体所在的线程执行任务
+     *
+     * @param entity 实体
+     * @param task   任务
+     */
+    public void runTask(@NotNull Entity entity, @NotNull Runnable task) {
+        Bukkit.getScheduler().runTask(Main.getInstance(), task);
+    }
+
+    /**
+     * 延迟在实体所在的线程执行任务
+     *
+     * @param entity 实体
+     * @param task   任务
+     * @param delay  延迟 tick 数
+     */
+    public void runTaskLater(@NotNull Entity entity, @NotNull Runnable task, long delay) {
+        Bukkit.getScheduler().runTaskLater(Main.getInstance(), task, delay);
+    }
+
+    /**
+     * 在位置所在的线程执行任务
+     *
+     * @param location 位置
+     * @param task     任务
+     */
+    public void runTask(@NotNull Location location, @NotNull Runnable task) {
+        Bukkit.getScheduler().runTask(Main.getInstance(), task);
+    }
+
+    /**
+     * 异步执行任务
+     *
+     * @param task 任务
+     */
+    public void runTaskAsynchronously(@NotNull Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(Main.getInstance(), task);
+    }
+
+    /**
+     * @return 全局任务执行器
+     */
+    public @NotNull Executor executor() {
+        return this::runTask;
+    }
+
+    /**
+     * @param entity 实体
+     * @return 在实体所在线程执行任务的执行器
+     */
+    public @NotNull Executor executor(@NotNull Entity entity) {
+        return task -> this.runTask(entity, task);
+    }
+
+    /**
+     * @param location 位置
+     * @return 在位置所在线程执行任务的执行器
+     */
+    public @NotNull Executor executor(@NotNull Location location) {
+        return task -> this.runTask(location, task);
+    }
+
+    /**
+     * @return 假人专用的异步任务执行器, 并发数以及队列长度有上限
+     */
+    public @NotNull Executor asyncExecutor() {
+        return this.asyncExecutor;
+    }
+
+    /**
+     * 在指定的执行器上执行可能抛出异常的任务
+     *
+     * @param executor 执行器
+     * @param task     任务
+     * @return 任务结果
+     */
+    public <T> @NotNull CompletableFuture<T> supply(@NotNull Executor executor, @NotNull Callable<T> task) {
+        var future = new CompletableFuture<T>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(task.call());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * 在指定的执行器上执行可能抛出异常的任务
+     *
+     * @param executor 执行器
+     * @param task     任务
+     * @return 任务结果
+     */
+    public @NotNull CompletableFuture<Void> run(@NotNull Executor executor, @NotNull ThrowingRunnable task) {
+        return this.supply(executor, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+
+    }
+
+}
@@ -0,0 +1,160 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 按照令牌桶准入的排队队列
+ * <p>全局和每个所有者各有一个令牌桶, 速率小于等于 0 表示不限制; 请求消耗的令牌数与请求的数量相同, 超过容量的部分作为欠款</p>
+ * <p>全局令牌不足时后面的请求都不能越过它开始, 避免大的请求被小的请求一直插队; 某个所有者的令牌不足时只阻塞这个所有者的请求,
+ * 同一个所有者的请求始终按照排队顺序开始</p>
+ * <p>不是线程安全的</p>
+ *
+ * @param <E> 请求
+ */
+public class AdmissionQueue<E> {
+
+    private final ArrayDeque<Entry<E>> queue = new ArrayDeque<>();
+
+    private final Map<String, TokenBucket> owners = new HashMap<>();
+
+    @Nullable
+    private TokenBucket global;
+
+    private double globalRate;
+
+    private double ownerRate;
+
+    /**
+     * 设置速率, 与当前速率不同时重新创建令牌桶
+     *
+     * @param globalRate 全局每秒的令牌数, 小于等于 0 表示不限制
+     * @param ownerRate  每个所有者每秒的令牌数, 小于等于 0 表示不限制
+     * @param now        当前时间, 单位: 纳秒
+     */
+    public void setRates(double globalRate, double ownerRate, long now) {
+        if (globalRate != this.globalRate) {
+            this.global = globalRate > 0 ? new TokenBucket(globalRate, Math.max(1, globalRate), now) : null;
+            this.globalRate = globalRate;
+        }
+        if (ownerRate != this.ownerRate) {
+            this.owners.clear();
+            this.ownerRate = ownerRate;
+        }
+    }
+
+    /**
+     * 没有排队的请求并且令牌充足时直接准入
+     *
+     * @param owner  所有者
+     * @param amount 数量
+     * @param now    当前时间, 单位: 纳秒
+     * @return 是否准入, 准入时已经消耗令牌
+     */
+    public boolean tryAdmit(@NotNull String owner, int amount, long now) {
+        if (!this.queue.isEmpty()) {
+            return false;
+        }
+        var bucket = this.getOwnerBucket(owner, now);
+        if (!this.canAcquire(bucket, amount, now)) {
+            return false;
+        }
+        this.acquire(bucket, amount, now);
+        return true;
+    }
+
+    /**
+     * 将请求放入队尾
+     *
+     * @param owner   所有者
+     * @param amount  数量
+     * @param element 请求
+     * @return 排队位置, 从 1 开始
+     */
+    public int enqueue(@NotNull String owner, int amount, @NotNull E element) {
+        this.queue.addLast(new Entry<>(owner, amount, element));
+        return this.queue.size();
+    }
+
+    /**
+     * 按顺序取出令牌充足的请求, 并且释放已经补满的所有者令牌桶
+     *
+     * @param now 当前时间, 单位: 纳秒
+     * @return 可以开始的请求
+     */
+    public @NotNull List<E> drain(long now) {
+        List<E> ready = Collections.emptyList();
+        Set<String> blocked = null;
+
+        var it = this.queue.iterator();
+        while (it.hasNext()) {
+            var entry = it.next();
+            if (blocked != null && blocked.contains(entry.owner)) {
+                continue;
+            }
+            if (this.global != null && !this.global.canAcquire(entry.amount, now)) {
+                break;
+            }
+
+            var bucket = this.getOwnerBucket(entry.owner, now);
+            if (bucket != null && !bucket.canAcquire(entry.amount, now)) {
+                if (blocked == null) {
+                    blocked = new HashSet<>();
+                }
+                blocked.add(entry.owner);
+                continue;
+            }
+
+            this.acquire(bucket, entry.amount, now);
+            it.remove();
+            if (ready.isEmpty()) {
+                ready = new ArrayList<>();
+            }
+            ready.add(entry.element);
+        }
+
+        // 还有欠款的令牌桶不算补满, 不会在这里被释放
+        this.owners.values().removeIf(bucket -> bucket.isFull(now));
+        return ready;
+    }
+
+    /**
+     * @return 排队中的请求数量
+     */
+    public int size() {
+        return this.queue.size();
+    }
+
+    private boolean canAcquire(@Nullable TokenBucket owner, int amount, long now) {
+        return (this.global == null || this.global.canAcquire(amount, now)) && (owner == null || owner.canAcquire(amount, now));
+    }
+
+    private void acquire(@Nullable TokenBucket owner, int amount, long now) {
+        if (this.global != null) {
+            this.global.tryAcquire(amount, now);
+        }
+        if (owner != null) {
+            owner.tryAcquire(amount, now);
+        }
+    }
+
+    private @Nullable TokenBucket getOwnerBucket(@NotNull String owner, long now) {
+        if (this.ownerRate <= 0) {
+            return null;
+        }
+        return this.owners.computeIfAbsent(owner, key -> new TokenBucket(this.ownerRate, Math.max(1, this.ownerRate), now));
+    }
+
+    private record Entry<E>(@NotNull String owner, int amount, @NotNull E element) {
+    }
+
+}
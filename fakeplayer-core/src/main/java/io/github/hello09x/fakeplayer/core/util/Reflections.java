@@ -5,7 +5,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.Arrays;
 
 public class Reflections {
 
@@ -61,4 +63,36 @@ public class Reflections {
         return null;
     }
 
+    /**
+     * 根据返回值和参数类型查找唯一的非静态方法
+     *
+     * @param clazz          类
+     * @param returnType     返回值类型
+     * @param parameterTypes 参数类型
+     * @return 方法, 不存在或者存在多个时为 {@code null}
+     */
+    public static @Nullable Method getOnlyMethodBySignature(
+            @NotNull Class<?> clazz,
+            @NotNull Class<?> returnType,
+            @NotNull Class<?>... parameterTypes
+    ) {
+        Method found = null;
+        for (var method : clazz.getDeclaredMethods()) {
+            if (Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            if (method.getReturnType() != returnType || !Arrays.equals(method.getParameterTypes(), parameterTypes)) {
+                continue;
+            }
+            if (found != null) {
+                return null;
+            }
+            found = method;
+        }
+        if (found != null) {
+            found.setAccessible(true);
+        }
+        return found;
+    }
+
 }
@@ -0,0 +1,113 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import java.util.Arrays;
+
+/**
+ * 滚动直方图
+ * <p>按照 2 的幂划分桶, 记录一次只需要一次数组写入; 保留当前和上一个窗口, 调用 {@link #rotate()} 时丢弃更早的数据</p>
+ * <p>不是线程安全的, 由调用方保证同一时间只有一个线程读写</p>
+ */
+public class RollingHistogram {
+
+    /**
+     * 桶的数量, 第 i 个桶记录 [2^i, 2^(i+1)) 之间的值
+     */
+    private final static int BUCKETS = 64;
+
+    private long[] current = new long[BUCKETS];
+
+    private long[] previous = new long[BUCKETS];
+
+    private long currentCount;
+
+    private long previousCount;
+
+    private long currentSum;
+
+    private long previousSum;
+
+    private static int bucketOf(long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value) - 1;
+    }
+
+    /**
+     * 记录一个值
+     *
+     * @param value 值, 负数当作 0
+     */
+    public void record(long value) {
+        this.current[bucketOf(value)]++;
+        this.currentCount++;
+        this.currentSum += Math.max(0, value);
+    }
+
+    /**
+     * 开始一个新的窗口, 丢弃上一个窗口的数据
+     */
+    public void rotate() {
+        var recycled = this.previous;
+        Arrays.fill(recycled, 0);
+        this.previous = this.current;
+        this.previousCount = this.currentCount;
+        this.previousSum = this.currentSum;
+        this.current = recycled;
+        this.currentCount = 0;
+        this.currentSum = 0;
+    }
+
+    /**
+     * 丢弃所有数据
+     */
+    public void clear() {
+        Arrays.fill(this.current, 0);
+        Arrays.fill(this.previous, 0);
+        this.currentCount = this.previousCount = 0;
+        this.currentSum = this.previousSum = 0;
+    }
+
+    /**
+     * @return 当前和上一个窗口的样本数量
+     */
+    public long count() {
+        return this.currentCount + this.previousCount;
+    }
+
+    /**
+     * @return 当前和上一个窗口的样本总和
+     */
+    public long sum() {
+        return this.currentSum + this.previousSum;
+    }
+
+    /**
+     * @return 平均值, 没有样本时为 0
+     */
+    public long mean() {
+        var count = this.count();
+        return count == 0 ? 0 : this.sum() / count;
+    }
+
+    /**
+     * 获取百分位数, 结果为对应桶的上界, 误差在 2 倍以内
+     *
+     * @param percentile 百分位, 范围为 0 ~ 1
+     * @return 百分位数, 没有样本时为 0
+     */
+    public long percentile(double percentile) {
+        var count = this.count();
+        if (count == 0) {
+            return 0;
+        }
+
+        var rank = (long) Math.ceil(count * Math.min(1, Math.max(0, percentile)));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.current[i] + this.previous[i];
+            if (seen >= rank) {
+                return i >= 62 ? Long.MAX_VALUE : (1L << (i + 1)) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+}
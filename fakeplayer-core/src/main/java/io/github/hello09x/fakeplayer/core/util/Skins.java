@@ -1,34 +1,46 @@
 package io.github.hello09x.fakeplayer.core.util;
 
 import com.destroystokyo.paper.profile.PlayerProfile;
-import io.github.hello09x.bedrock.task.CompletableTask;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.manager.skin.SkinCache;
+import io.github.hello09x.fakeplayer.core.manager.skin.SkinTexture;
+import io.github.hello09x.fakeplayer.core.scheduler.FakeplayerScheduler;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 public class Skins {
 
     /**
-     * 复制皮肤, 仅能复制在线玩家的皮肤
+     * 复制皮肤, 来源玩家没有加载材质时使用缓存的材质, 不会等待远程请求
      *
      * @param from 皮肤来源
      * @param to   复制到
      * @return 是否复制成功
      */
     public static boolean copySkin(@NotNull OfflinePlayer from, @NotNull Player to) {
+        var cache = Main.getInjector().getInstance(SkinCache.class);
         var profile = from.getPlayerProfile();
         if (profile.hasTextures()) {
             copyTexture(profile, to);
+            Optional.ofNullable(SkinTexture.of(profile)).ifPresent(texture -> cache.put(from.getUniqueId(), texture));
+            return true;
+        }
+
+        var texture = cache.get(from.getUniqueId());
+        if (texture != null) {
+            applyTexture(texture, to);
             return true;
         }
         return false;
     }
 
     /**
-     * 复制皮肤, 如果来源玩家不在线, 则通过 mojang API 下载皮肤后再复制
+     * 复制皮肤, 如果来源玩家不在线并且没有缓存, 则通过 mojang API 下载皮肤后再复制
      *
      * @param from 皮肤来源
      * @param to   复制到
@@ -38,26 +50,32 @@ public class Skins {
             return CompletableFuture.completedFuture(true);
         }
 
-        var profile = from.getPlayerProfile();
-        return CompletableFuture
-                .supplyAsync(profile::complete)
-                .thenComposeAsync(completed -> CompletableTask.join(plugin, () -> {
-                    if (!completed) {
+        return Main.getInjector()
+                .getInstance(SkinCache.class)
+                .refreshAsync(from.getUniqueId())
+                .thenApplyAsync(texture -> {
+                    if (texture == null) {
                         return false;
                     }
                     try {
-                        copyTexture(profile, to);
+                        applyTexture(texture, to);
                         return true;
-                    } catch (Throwable e) {
+                    } catch (Exception e) {
                         return false;
                     }
-                }));
+                }, Main.getInjector().getInstance(FakeplayerScheduler.class).executor(to));
     }
 
     private static void copyTexture(@NotNull PlayerProfile from, @NotNull Player to) {
         var profile = to.getPlayerProfile();
         profile.setTextures(from.getTextures());
-        from.getProperties().stream().filter(p -> p.getName().equals("textures")).findAny().ifPresent(profile::setProperty);
+        from.getProperties().stream().filter(p -> p.getName().equals(SkinTexture.PROPERTY_NAME)).findAny().ifPresent(profile::setProperty);
+        to.setPlayerProfile(profile);
+    }
+
+    private static void applyTexture(@NotNull SkinTexture texture, @NotNull Player to) {
+        var profile = to.getPlayerProfile();
+        profile.setProperty(texture.toProperty());
         to.setPlayerProfile(profile);
     }
 
@@ -0,0 +1,177 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 哈希时间轮
+ * <p>将到期时间按照精度划分到环形的槽中, 每次推进只访问经过的槽, 与元素总数无关</p>
+ * <p>到期时间超过一圈的元素会留在槽中直到真正到期</p>
+ * <p>到期时间向上取整到刻度, 因此元素不会早于到期时间被处理, 最多会晚一个精度</p>
+ *
+ * @param <K> 元素
+ */
+public class TimingWheel<K> {
+
+    private final long resolution;
+
+    private final Entry<K>[] slots;
+
+    private final int mask;
+
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    /**
+     * 已经处理到的刻度
+     */
+    private long cursor;
+
+    /**
+     * @param resolution 精度, 单位: 毫秒
+     * @param slots      槽数量, 会向上取整为 2 的幂
+     * @param now        当前时间
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long resolution, int slots, long now) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        var size = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.resolution = resolution;
+        this.slots = new Entry[size];
+        this.mask = size - 1;
+        this.cursor = now / resolution;
+    }
+
+    /**
+     * 设置元素的到期时间, 如果已经存在则替换
+     *
+     * @param key      元素
+     * @param deadline 到期时间
+     */
+    public synchronized void schedule(@NotNull K key, long deadline) {
+        this.cancel(key);
+        var entry = new Entry<>(key, deadline);
+        // 向上取整, 推进到该刻度时一定已经到期; 已经过期的元素放到下一个刻度, 在下次推进时处理
+        this.link(entry, Math.max(Math.ceilDiv(deadline, this.resolution), this.cursor + 1));
+        this.entries.put(key, entry);
+    }
+
+    /**
+     * 取消元素
+     *
+     * @param key 元素
+     * @return 是否存在
+     */
+    public synchronized boolean cancel(@NotNull K key) {
+        var entry = this.entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        this.unlink(entry);
+        return true;
+    }
+
+    /**
+     * 获取元素的到期时间
+     *
+     * @param key 元素
+     * @return 到期时间, 如果不存在则为 {@code null}
+     */
+    public synchronized @Nullable Long getDeadline(@NotNull K key) {
+        var entry = this.entries.get(key);
+        return entry == null ? null : entry.deadline;
+    }
+
+    /**
+     * 推进时间轮, 处理所有已经到期的元素
+     *
+     * @param now     当前时间
+     * @param expired 到期元素的处理, 在锁外执行
+     */
+    public void advance(long now, @NotNull Consumer<K> expired) {
+        Entry<K> head = null;
+        synchronized (this) {
+            var target = now / this.resolution;
+            if (target <= this.cursor) {
+                return;
+            }
+
+            // 推进超过一圈时所有槽都要访问一次
+            var from = Math.max(this.cursor + 1, target - this.slots.length + 1);
+            for (var tick = from; tick <= target; tick++) {
+                var entry = this.slots[(int) (tick & this.mask)];
+                while (entry != null) {
+                    var next = entry.next;
+                    if (entry.tick <= target) {
+                        this.unlink(entry);
+                        this.entries.remove(entry.key);
+                        entry.next = head;
+                        head = entry;
+                    }
+                    entry = next;
+                }
+            }
+            this.cursor = target;
+        }
+
+        for (var entry = head; entry != null; entry = entry.next) {
+            expired.accept(entry.key);
+        }
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private void link(@NotNull Entry<K> entry, long tick) {
+        var index = (int) (tick & this.mask);
+        entry.tick = tick;
+        entry.slot = index;
+        entry.prev = null;
+        entry.next = this.slots[index];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        this.slots[index] = entry;
+    }
+
+    private void unlink(@NotNull Entry<K> entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            this.slots[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private final static class Entry<K> {
+
+        private final K key;
+
+        private final long deadline;
+
+        private long tick;
+
+        private int slot;
+
+        private Entry<K> prev;
+
+        private Entry<K> next;
+
+        private Entry(@NotNull K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+
+    }
+
+}
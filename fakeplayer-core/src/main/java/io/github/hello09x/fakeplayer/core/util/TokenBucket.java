@@ -0,0 +1,82 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+/**
+ * 令牌桶
+ * <p>令牌按照固定速率补充, 最多累积到容量上限, 不是线程安全的</p>
+ * <p>超过容量的数量在令牌补满时可以一次消耗, 超出的部分作为欠款, 补充的令牌先偿还欠款; 因此长期的消耗速率依然不会超过补充速率</p>
+ */
+public class TokenBucket {
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    private double tokens;
+
+    private long refilledAt;
+
+    /**
+     * @param tokensPerSecond 每秒补充的令牌数
+     * @param capacity        容量, 即最多可以连续消耗的令牌数
+     * @param now             当前时间, 单位: 纳秒
+     */
+    public TokenBucket(double tokensPerSecond, double capacity, long now) {
+        if (tokensPerSecond <= 0) {
+            throw new IllegalArgumentException("tokensPerSecond must be positive");
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must not be less than 1");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000D;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * 尝试消耗令牌, 超过容量的数量需要等到令牌补满, 并且全部计入消耗
+     *
+     * @param amount 令牌数
+     * @param now    当前时间, 单位: 纳秒
+     * @return 是否消耗成功, 失败时不会消耗任何令牌
+     */
+    public boolean tryAcquire(int amount, long now) {
+        if (!this.canAcquire(amount, now)) {
+            return false;
+        }
+        this.tokens -= amount;
+        return true;
+    }
+
+    /**
+     * 判断是否有足够的令牌, 不会消耗令牌
+     * <p>超过容量的数量只要求令牌已经补满</p>
+     *
+     * @param amount 令牌数
+     * @param now    当前时间, 单位: 纳秒
+     * @return 是否有足够的令牌
+     */
+    public boolean canAcquire(int amount, long now) {
+        this.refill(now);
+        return this.tokens >= Math.min(amount, this.capacity);
+    }
+
+    /**
+     * @param now 当前时间, 单位: 纳秒
+     * @return 令牌是否已经补满, 还有欠款时不算补满
+     */
+    public boolean isFull(long now) {
+        this.refill(now);
+        return this.tokens >= this.capacity;
+    }
+
+    private void refill(long now) {
+        var elapsed = now - this.refilledAt;
+        if (elapsed <= 0) {
+            return;
+        }
+        this.tokens = Math.min(this.capacity, this.tokens + elapsed * this.tokensPerNano);
+        this.refilledAt = now;
+    }
+
+}
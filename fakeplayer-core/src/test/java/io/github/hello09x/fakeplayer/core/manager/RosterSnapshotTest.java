@@ -0,0 +1,189 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.core.entity.RosterEntry;
+import io.github.hello09x.fakeplayer.core.manager.naming.SequenceName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    private final static Logger log = Logger.getLogger(RosterSnapshotTest.class.getName());
+
+    @TempDir
+    Path folder;
+
+    private File file;
+
+    @BeforeEach
+    void setUp() {
+        this.file = this.folder.resolve("roster.bin").toFile();
+    }
+
+    private RosterSnapshot newSnapshot() {
+        return new RosterSnapshot(this.file, log);
+    }
+
+    private static RosterEntry entry(String name, UUID creatorId, Map<Action.ActionType, Action.ActionSetting> actions) {
+        return new RosterEntry(
+                new SequenceName("group", 3, UUID.randomUUID(), name),
+                creatorId,
+                creatorId == null ? "CONSOLE" : "creator",
+                "world",
+                1.5,
+                64,
+                -2.25,
+                90f,
+                -15f,
+                123456789L,
+                true,
+                false,
+                true,
+                false,
+                true,
+                8,
+                6,
+                actions
+        );
+    }
+
+    private static void assertEntryEquals(RosterEntry expected, RosterEntry actual) {
+        assertEquals(expected.sequenceName(), actual.sequenceName());
+        assertEquals(expected.creatorId(), actual.creatorId());
+        assertEquals(expected.creatorName(), actual.creatorName());
+        assertEquals(expected.world(), actual.world());
+        assertEquals(expected.x(), actual.x());
+        assertEquals(expected.y(), actual.y());
+        assertEquals(expected.z(), actual.z());
+        assertEquals(expected.yaw(), actual.yaw());
+        assertEquals(expected.pitch(), actual.pitch());
+        assertEquals(expected.removeAt(), actual.removeAt());
+        assertEquals(expected.invulnerable(), actual.invulnerable());
+        assertEquals(expected.collidable(), actual.collidable());
+        assertEquals(expected.pickupItems(), actual.pickupItems());
+        assertEquals(expected.skin(), actual.skin());
+        assertEquals(expected.replenish(), actual.replenish());
+        assertEquals(expected.viewDistance(), actual.viewDistance());
+        assertEquals(expected.simulationDistance(), actual.simulationDistance());
+
+        // ActionSetting 没有实现 equals, 逐个比较字段
+        assertEquals(expected.actions().keySet(), actual.actions().keySet());
+        for (var type : expected.actions().keySet()) {
+            var e = expected.actions().get(type);
+            var a = actual.actions().get(type);
+            assertEquals(e.maximum, a.maximum);
+            assertEquals(e.remains, a.remains);
+            assertEquals(e.interval, a.interval);
+            assertEquals(e.wait, a.wait);
+        }
+    }
+
+    @Test
+    void roundTripsThroughFile() {
+        var actions = new EnumMap<Action.ActionType, Action.ActionSetting>(Action.ActionType.class);
+        var setting = new Action.ActionSetting(10, 20, 5);
+        setting.remains = 7;
+        actions.put(Action.ActionType.values()[0], setting);
+
+        var console = entry("console_1", null, Map.of());
+        var player = entry("player_1", UUID.randomUUID(), actions);
+        newSnapshot().save(List.of(console, player));
+
+        var loaded = newSnapshot();
+        assertEquals(2, loaded.getPending());
+        assertEntryEquals(console, loaded.poll(e -> true));
+        assertEntryEquals(player, loaded.poll(e -> true));
+        assertNull(loaded.poll(e -> true));
+    }
+
+    @Test
+    void keepsFileUntilDrained() {
+        var first = entry("first", null, Map.of());
+        var second = entry("second", null, Map.of());
+        newSnapshot().save(List.of(first, second));
+
+        // 载入后文件仍然保留, 异常关服时不会丢失还没有恢复的假人
+        var loaded = newSnapshot();
+        assertTrue(this.file.exists());
+        assertNotNull(loaded.poll(e -> true));
+        assertTrue(this.file.exists());
+        assertNotNull(loaded.poll(e -> true));
+        assertFalse(this.file.exists());
+    }
+
+    @Test
+    void removingLastPendingDeletesFile() {
+        newSnapshot().save(List.of(entry("player_1", UUID.randomUUID(), Map.of())));
+
+        var loaded = newSnapshot();
+        assertEquals(0, loaded.removeIf(e -> e.creatorId() == null));
+        assertTrue(this.file.exists());
+        assertEquals(1, loaded.removeIf(e -> true));
+        assertFalse(this.file.exists());
+    }
+
+    @Test
+    void savesPendingAfterActiveWithoutDuplicates() {
+        var restored = entry("restored", null, Map.of());
+        var waiting = entry("waiting", UUID.randomUUID(), Map.of());
+        newSnapshot().save(List.of(restored, waiting));
+
+        var loaded = newSnapshot();
+        assertEntryEquals(restored, loaded.poll(e -> e.creatorId() == null));
+
+        var online = entry("online", null, Map.of());
+        loaded.save(List.of(restored, online));
+
+        var reloaded = newSnapshot();
+        assertEquals(3, reloaded.getPending());
+        assertEntryEquals(restored, reloaded.poll(e -> true));
+        assertEntryEquals(online, reloaded.poll(e -> true));
+        assertEntryEquals(waiting, reloaded.poll(e -> true));
+    }
+
+    @Test
+    void clearDropsPendingAndDeletesFile() {
+        newSnapshot().save(List.of(entry("player_1", UUID.randomUUID(), Map.of())));
+
+        var loaded = newSnapshot();
+        loaded.clear();
+        assertEquals(0, loaded.getPending());
+        assertFalse(this.file.exists());
+        assertEquals(0, newSnapshot().getPending());
+    }
+
+    @Test
+    void savingNothingDeletesFile() {
+        var snapshot = newSnapshot();
+        snapshot.save(List.of(entry("player_1", null, Map.of())));
+        assertTrue(this.file.exists());
+
+        snapshot.save(List.of());
+        assertFalse(this.file.exists());
+    }
+
+    @Test
+    void ignoresFileWithUnknownFormat() throws IOException {
+        try (var out = new DataOutputStream(new FileOutputStream(this.file))) {
+            out.writeInt(0xCAFEBABE);
+            out.writeInt(1);
+        }
+
+        assertEquals(0, newSnapshot().getPending());
+    }
+
+}
@@ -0,0 +1,98 @@
+package io.github.hello09x.fakeplayer.core.manager;
+
+import org.bukkit.World;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpawnChunkTicketsTest {
+
+    @Test
+    void addsTicketOnFirstAcquireAndRemovesOnLastRelease() {
+        var tickets = new SpawnChunkTickets();
+        var world = new TicketRecorder();
+
+        tickets.acquire(world.world, 1, 2);
+        tickets.acquire(world.world, 1, 2);
+        assertEquals(List.of("add 1,2"), world.calls);
+
+        tickets.release(world.world, 1, 2);
+        assertEquals(List.of("add 1,2"), world.calls);
+
+        tickets.release(world.world, 1, 2);
+        assertEquals(List.of("add 1,2", "remove 1,2"), world.calls);
+    }
+
+    @Test
+    void countsChunksSeparately() {
+        var tickets = new SpawnChunkTickets();
+        var world = new TicketRecorder();
+
+        tickets.acquire(world.world, 0, 0);
+        tickets.acquire(world.world, 0, 1);
+        tickets.release(world.world, 0, 0);
+        assertEquals(List.of("add 0,0", "add 0,1", "remove 0,0"), world.calls);
+    }
+
+    @Test
+    void countsWorldsSeparately() {
+        var tickets = new SpawnChunkTickets();
+        var overworld = new TicketRecorder();
+        var nether = new TicketRecorder();
+
+        tickets.acquire(overworld.world, 3, 3);
+        tickets.acquire(nether.world, 3, 3);
+        tickets.release(overworld.world, 3, 3);
+        assertEquals(List.of("add 3,3", "remove 3,3"), overworld.calls);
+        assertEquals(List.of("add 3,3"), nether.calls);
+    }
+
+    @Test
+    void ignoresReleaseWithoutAcquire() {
+        var tickets = new SpawnChunkTickets();
+        var world = new TicketRecorder();
+
+        tickets.release(world.world, 0, 0);
+        tickets.acquire(world.world, 0, 0);
+        tickets.release(world.world, 0, 0);
+        tickets.release(world.world, 0, 0);
+        assertEquals(List.of("add 0,0", "remove 0,0"), world.calls);
+
+        tickets.acquire(world.world, 0, 0);
+        assertEquals(List.of("add 0,0", "remove 0,0", "add 0,0"), world.calls);
+    }
+
+    /**
+     * 只实现了区块票据相关方法的世界, 记录添加和移除票据的调用
+     */
+    private final static class TicketRecorder {
+
+        private final UUID uid = UUID.randomUUID();
+
+        private final List<String> calls = new ArrayList<>();
+
+        private final World world = (World) Proxy.newProxyInstance(
+                World.class.getClassLoader(),
+                new Class<?>[]{World.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "getUID" -> this.uid;
+                    case "addPluginChunkTicket" -> {
+                        this.calls.add("add " + args[0] + "," + args[1]);
+                        yield true;
+                    }
+                    case "removePluginChunkTicket" -> {
+                        this.calls.add("remove " + args[0] + "," + args[1]);
+                        yield true;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                }
+        );
+
+    }
+
+}
@@ -0,0 +1,148 @@
+package io.github.hello09x.fakeplayer.core.manager.action;
+
+import io.github.hello09x.fakeplayer.api.spi.Action;
+import io.github.hello09x.fakeplayer.api.spi.ActionTicker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionSlotsTest {
+
+    private final static Action.ActionType TYPE = Action.ActionType.ATTACK;
+
+    private final static int INDEX = TYPE.ordinal();
+
+    @Test
+    void newActionIsDueImmediately() {
+        var slots = new ActionSlots();
+        slots.reschedule(Integer.MAX_VALUE);
+        assertFalse(slots.isDue(0));
+
+        slots.set(TYPE, new SleepingTicker(5));
+        assertTrue(slots.isDue(0));
+
+        slots.begin();
+        assertFalse(slots.isDue(0));
+    }
+
+    @Test
+    void sleepingActionIsSkippedUntilDue() {
+        var slots = new ActionSlots();
+        var ticker = new SleepingTicker(3);
+        slots.set(TYPE, ticker);
+
+        slots.begin();
+        assertTrue(slots.wake(INDEX, ticker, 10));
+        slots.sleep(INDEX, ticker, 10);
+        assertEquals(14, slots.getDueAt(INDEX));
+        slots.reschedule(slots.getDueAt(INDEX));
+
+        for (int now = 11; now < 14; now++) {
+            assertFalse(slots.isDue(now));
+            assertFalse(slots.wake(INDEX, ticker, now));
+        }
+        assertTrue(ticker.skipped.isEmpty());
+
+        assertTrue(slots.isDue(14));
+        assertTrue(slots.wake(INDEX, ticker, 14));
+        assertEquals(List.of(3), ticker.skipped);
+    }
+
+    @Test
+    void actionWithoutSleepIsDueNextTick() {
+        var slots = new ActionSlots();
+        var ticker = new SleepingTicker(0);
+        slots.set(TYPE, ticker);
+
+        slots.begin();
+        slots.sleep(INDEX, ticker, 10);
+        slots.reschedule(slots.getDueAt(INDEX));
+
+        assertTrue(slots.isDue(11));
+        assertTrue(slots.wake(INDEX, ticker, 11));
+        assertTrue(ticker.skipped.isEmpty());
+    }
+
+    @Test
+    void replacedActionRunsWithoutWaiting() {
+        var slots = new ActionSlots();
+        var old = new SleepingTicker(100);
+        slots.set(TYPE, old);
+        slots.begin();
+        slots.sleep(INDEX, old, 10);
+        slots.reschedule(slots.getDueAt(INDEX));
+
+        var replaced = new SleepingTicker(0);
+        slots.set(TYPE, replaced);
+        assertTrue(slots.isDue(11));
+        assertTrue(slots.wake(INDEX, replaced, 11));
+        assertTrue(old.skipped.isEmpty());
+    }
+
+    @Test
+    void completeKeepsReplacedAction() {
+        var slots = new ActionSlots();
+        var done = new SleepingTicker(0);
+        slots.set(TYPE, done);
+
+        var replaced = new SleepingTicker(0);
+        slots.set(TYPE, replaced);
+        slots.complete(INDEX, done);
+        assertSame(replaced, slots.get(INDEX));
+
+        slots.complete(INDEX, replaced);
+        assertNull(slots.get(INDEX));
+        assertTrue(slots.isEmpty());
+    }
+
+    @Test
+    void removeReturnsAction() {
+        var slots = new ActionSlots();
+        var ticker = new SleepingTicker(0);
+        slots.set(TYPE, ticker);
+        assertFalse(slots.isEmpty());
+
+        assertSame(ticker, slots.remove(INDEX));
+        assertNull(slots.remove(INDEX));
+        assertTrue(slots.isEmpty());
+    }
+
+    private final static class SleepingTicker implements ActionTicker {
+
+        private final int sleepTicks;
+
+        private final List<Integer> skipped = new ArrayList<>();
+
+        private SleepingTicker(int sleepTicks) {
+            this.sleepTicks = sleepTicks;
+        }
+
+        @Override
+        public boolean tick() {
+            return false;
+        }
+
+        @Override
+        public void inactiveTick() {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public int sleepTicks() {
+            return this.sleepTicks;
+        }
+
+        @Override
+        public void skip(int ticks) {
+            this.skipped.add(ticks);
+        }
+
+    }
+
+}
@@ -0,0 +1,197 @@
+package io.github.hello09x.fakeplayer.core.manager.skin;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SkinCacheTest {
+
+    private final static Logger log = Logger.getLogger(SkinCacheTest.class.getName());
+
+    @TempDir
+    Path folder;
+
+    private File file;
+
+    private StubResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        this.file = this.folder.resolve("skins.bin").toFile();
+        this.resolver = new StubResolver();
+    }
+
+    private SkinCache newCache() {
+        return new SkinCache(this.resolver, Runnable::run, this.file, log);
+    }
+
+    private static SkinTexture texture(String value, long age) {
+        return new SkinTexture(value, "signature-" + value, System.currentTimeMillis() - age);
+    }
+
+    @Test
+    void freshTextureIsNotRefreshed() {
+        var cache = newCache();
+        var uuid = UUID.randomUUID();
+        var fresh = texture("fresh", 0);
+        cache.put(uuid, fresh);
+
+        assertSame(fresh, cache.get(uuid));
+        assertTrue(this.resolver.calls.isEmpty());
+    }
+
+    @Test
+    void expiredTextureIsServedAndRefreshed() {
+        var cache = newCache();
+        var uuid = UUID.randomUUID();
+        var stale = texture("stale", SkinCache.TTL + 1000);
+        var refreshed = texture("refreshed", 0);
+        cache.put(uuid, stale);
+        this.resolver.textures.put(uuid, refreshed);
+
+        assertSame(stale, cache.get(uuid));
+        assertEquals(List.of(uuid), this.resolver.calls);
+        assertSame(refreshed, cache.get(uuid));
+        assertEquals(List.of(uuid), this.resolver.calls);
+    }
+
+    @Test
+    void failedRefreshKeepsOldTexture() {
+        var cache = newCache();
+        var uuid = UUID.randomUUID();
+        var stale = texture("stale", SkinCache.TTL + 1000);
+        cache.put(uuid, stale);
+        this.resolver.failing = true;
+
+        assertNull(cache.refreshAsync(uuid).join());
+        assertSame(stale, cache.get(uuid));
+    }
+
+    @Test
+    void missingTextureIsOnlyFetchedOnRefresh() {
+        var cache = newCache();
+        var uuid = UUID.randomUUID();
+        var fetched = texture("fetched", 0);
+        this.resolver.textures.put(uuid, fetched);
+
+        assertNull(cache.get(uuid));
+        assertTrue(this.resolver.calls.isEmpty());
+
+        assertSame(fetched, cache.refreshAsync(uuid).join());
+        assertSame(fetched, cache.get(uuid));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var cache = newCache();
+        var uuids = new ArrayList<UUID>();
+        for (int i = 0; i < SkinCache.CAPACITY; i++) {
+            var uuid = UUID.randomUUID();
+            uuids.add(uuid);
+            cache.put(uuid, texture("texture-" + i, 0));
+        }
+
+        // 访问第一个, 第二个成为最久没有使用的
+        assertNotNull(cache.get(uuids.get(0)));
+        cache.put(UUID.randomUUID(), texture("overflow", 0));
+
+        assertNotNull(cache.get(uuids.get(0)));
+        assertNull(cache.get(uuids.get(1)));
+        assertNotNull(cache.get(uuids.get(2)));
+    }
+
+    @Test
+    void roundTripsThroughFile() {
+        var cache = newCache();
+        var signed = UUID.randomUUID();
+        var unsigned = UUID.randomUUID();
+        var signedTexture = texture("signed", 0);
+        var unsignedTexture = new SkinTexture("unsigned", null, System.currentTimeMillis());
+        cache.put(signed, signedTexture);
+        cache.put(unsigned, unsignedTexture);
+        cache.save();
+
+        var loaded = newCache();
+        loaded.load();
+        assertEquals(signedTexture, loaded.get(signed));
+        assertEquals(unsignedTexture, loaded.get(unsigned));
+    }
+
+    @Test
+    void dropsTexturesOlderThanMaxAgeOnLoad() {
+        var cache = newCache();
+        var fresh = UUID.randomUUID();
+        var old = UUID.randomUUID();
+        cache.put(fresh, texture("fresh", 0));
+        cache.put(old, texture("old", SkinCache.MAX_AGE + 1000));
+        cache.save();
+
+        var loaded = newCache();
+        loaded.load();
+        assertNotNull(loaded.get(fresh));
+        assertNull(loaded.get(old));
+    }
+
+    @Test
+    void loadKeepsTexturesPutBeforeIt() {
+        var uuid = UUID.randomUUID();
+        var cache = newCache();
+        cache.put(uuid, texture("saved", 0));
+        cache.save();
+
+        var loaded = newCache();
+        var newer = texture("newer", 0);
+        loaded.put(uuid, newer);
+        loaded.load();
+        assertSame(newer, loaded.get(uuid));
+    }
+
+    @Test
+    void ignoresFileWithUnknownFormat() throws IOException {
+        try (var out = new DataOutputStream(new FileOutputStream(this.file))) {
+            out.writeInt(0xCAFEBABE);
+            out.writeInt(1);
+        }
+
+        var cache = newCache();
+        cache.load();
+        assertNull(cache.get(UUID.randomUUID()));
+    }
+
+    /**
+     * 在调用线程返回预先设置的材质, 并记录每次调用
+     */
+    private final static class StubResolver implements SkinResolver {
+
+        private final Map<UUID, SkinTexture> textures = new HashMap<>();
+
+        private final List<UUID> calls = new ArrayList<>();
+
+        private boolean failing;
+
+        @Override
+        public SkinTexture resolve(UUID uuid) throws Exception {
+            this.calls.add(uuid);
+            if (this.failing) {
+                throw new IOException("unavailable");
+            }
+            return this.textures.get(uuid);
+        }
+
+    }
+
+}
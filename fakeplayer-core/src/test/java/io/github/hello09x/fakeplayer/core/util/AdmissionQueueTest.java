@@ -0,0 +1,100 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionQueueTest {
+
+    private final static long SECOND = 1_000_000_000L;
+
+    @Test
+    void unlimitedAdmitsImmediately() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(0, 0, 0);
+        assertTrue(queue.tryAdmit("a", 1000, 0));
+        assertTrue(queue.tryAdmit("a", 1000, 0));
+    }
+
+    @Test
+    void doesNotAdmitPastQueuedRequests() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(0, 0, 0);
+        assertEquals(1, queue.enqueue("a", 1, "first"));
+        assertFalse(queue.tryAdmit("b", 1, 0));
+
+        assertEquals(List.of("first"), queue.drain(0));
+        assertEquals(0, queue.size());
+        assertTrue(queue.tryAdmit("b", 1, 0));
+    }
+
+    @Test
+    void chargesFullCountOfBatch() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(10, 0, 0);
+        assertTrue(queue.tryAdmit("a", 64, 0));
+
+        // 全服欠 54 个令牌, 5.4 秒后才还清
+        assertFalse(queue.tryAdmit("b", 1, 5 * SECOND));
+        assertTrue(queue.tryAdmit("b", 1, 6 * SECOND));
+    }
+
+    @Test
+    void smallRequestsDoNotOvertakeBlockedLargeOne() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(10, 0, 0);
+        assertTrue(queue.tryAdmit("a", 10, 0));
+        queue.enqueue("b", 10, "large");
+        queue.enqueue("c", 1, "small");
+
+        assertEquals(List.of(), queue.drain(SECOND / 2));
+        assertEquals(List.of("large"), queue.drain(SECOND));
+        assertEquals(List.of(), queue.drain(SECOND + SECOND / 20));
+        assertEquals(List.of("small"), queue.drain(SECOND + SECOND / 10));
+    }
+
+    @Test
+    void keepsOrderPerOwner() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(0, 1, 0);
+        assertTrue(queue.tryAdmit("a", 1, 0));
+        queue.enqueue("a", 5, "a-1");
+        queue.enqueue("a", 1, "a-2");
+        queue.enqueue("b", 1, "b-1");
+
+        // a 的令牌不足, a-2 不能越过 a-1, 但 b-1 不受影响
+        assertEquals(List.of("b-1"), queue.drain(0));
+        assertEquals(List.of("a-1"), queue.drain(SECOND));
+
+        // a-1 欠 4 个令牌
+        assertEquals(List.of(), queue.drain(5 * SECOND));
+        assertEquals(List.of("a-2"), queue.drain(6 * SECOND));
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void debtIsNotForgivenWhileIdle() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(0, 1, 0);
+        assertTrue(queue.tryAdmit("a", 5, 0));
+
+        // 补满的令牌桶会在 drain 时释放, 还有欠款的不会
+        queue.drain(SECOND);
+        assertFalse(queue.tryAdmit("a", 1, 2 * SECOND));
+        assertTrue(queue.tryAdmit("a", 1, 5 * SECOND));
+    }
+
+    @Test
+    void ownerRateChangeResetsOwnerBuckets() {
+        var queue = new AdmissionQueue<String>();
+        queue.setRates(0, 1, 0);
+        assertTrue(queue.tryAdmit("a", 5, 0));
+        assertFalse(queue.tryAdmit("a", 1, 0));
+
+        queue.setRates(0, 2, 0);
+        assertTrue(queue.tryAdmit("a", 1, 0));
+    }
+
+}
@@ -0,0 +1,115 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    void neverExpiresBeforeDeadline() {
+        var wheel = new TimingWheel<String>(1000, 16, 0);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("a", 1500);
+        wheel.advance(1000, expired::add);
+        wheel.advance(1499, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(2000, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void expiresOnExactTick() {
+        var wheel = new TimingWheel<String>(1000, 16, 0);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("a", 3000);
+        wheel.advance(2999, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(3000, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    void pastDeadlineExpiresOnNextTick() {
+        var wheel = new TimingWheel<String>(1000, 16, 5000);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("a", 1000);
+        wheel.advance(5999, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(6000, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    void keepsEntriesBeyondOneRound() {
+        var wheel = new TimingWheel<String>(1000, 4, 0);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("near", 2000);
+        wheel.schedule("far", 10_000);
+        wheel.advance(4000, expired::add);
+        assertEquals(List.of("near"), expired);
+
+        wheel.advance(9999, expired::add);
+        assertEquals(List.of("near"), expired);
+
+        wheel.advance(10_000, expired::add);
+        assertEquals(List.of("near", "far"), expired);
+    }
+
+    @Test
+    void advanceOverManyRoundsVisitsEverySlot() {
+        var wheel = new TimingWheel<Integer>(1000, 4, 0);
+        var expired = new ArrayList<Integer>();
+
+        for (int i = 1; i <= 8; i++) {
+            wheel.schedule(i, i * 1000L);
+        }
+        wheel.advance(100_000, expired::add);
+        assertEquals(8, expired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void rescheduleReplacesDeadline() {
+        var wheel = new TimingWheel<String>(1000, 16, 0);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("a", 2000);
+        wheel.schedule("a", 5000);
+        assertEquals(5000L, wheel.getDeadline("a"));
+        assertEquals(1, wheel.size());
+
+        wheel.advance(2000, expired::add);
+        assertTrue(expired.isEmpty());
+
+        wheel.advance(5000, expired::add);
+        assertEquals(List.of("a"), expired);
+    }
+
+    @Test
+    void cancelRemovesEntry() {
+        var wheel = new TimingWheel<String>(1000, 16, 0);
+        var expired = new ArrayList<String>();
+
+        wheel.schedule("a", 2000);
+        wheel.schedule("b", 2000);
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertNull(wheel.getDeadline("a"));
+
+        wheel.advance(2000, expired::add);
+        assertEquals(List.of("b"), expired);
+    }
+
+}
@@ -0,0 +1,75 @@
+package io.github.hello09x.fakeplayer.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final static long SECOND = 1_000_000_000L;
+
+    @Test
+    void startsFull() {
+        var bucket = new TokenBucket(2, 2, 0);
+        assertTrue(bucket.isFull(0));
+        assertTrue(bucket.tryAcquire(1, 0));
+        assertTrue(bucket.tryAcquire(1, 0));
+        assertFalse(bucket.tryAcquire(1, 0));
+    }
+
+    @Test
+    void refillsAtRateUpToCapacity() {
+        var bucket = new TokenBucket(2, 2, 0);
+        assertTrue(bucket.tryAcquire(2, 0));
+        assertFalse(bucket.canAcquire(1, SECOND / 4));
+        assertTrue(bucket.canAcquire(1, SECOND / 2));
+        assertTrue(bucket.isFull(SECOND));
+
+        assertTrue(bucket.tryAcquire(2, 100 * SECOND));
+        assertFalse(bucket.canAcquire(1, 100 * SECOND));
+    }
+
+    @Test
+    void chargesFullAmountAboveCapacity() {
+        var bucket = new TokenBucket(2, 2, 0);
+        assertTrue(bucket.tryAcquire(64, 0));
+
+        // 欠 62 个令牌, 31 秒后才还清
+        assertFalse(bucket.canAcquire(1, 30 * SECOND));
+        assertFalse(bucket.canAcquire(1, 31 * SECOND));
+        assertTrue(bucket.canAcquire(1, 31 * SECOND + SECOND / 2));
+        assertTrue(bucket.isFull(32 * SECOND));
+    }
+
+    @Test
+    void amountAboveCapacityWaitsForFullBucket() {
+        var bucket = new TokenBucket(2, 2, 0);
+        assertTrue(bucket.tryAcquire(1, 0));
+        assertFalse(bucket.tryAcquire(64, 0));
+        assertFalse(bucket.tryAcquire(64, SECOND / 4));
+        assertTrue(bucket.tryAcquire(64, SECOND / 2));
+    }
+
+    @Test
+    void failedAcquireConsumesNothing() {
+        var bucket = new TokenBucket(1, 3, 0);
+        assertTrue(bucket.tryAcquire(2, 0));
+        assertFalse(bucket.tryAcquire(2, 0));
+        assertTrue(bucket.tryAcquire(1, 0));
+    }
+
+    @Test
+    void isNotFullWhileInDebt() {
+        var bucket = new TokenBucket(1, 1, 0);
+        assertTrue(bucket.tryAcquire(10, 0));
+        assertFalse(bucket.isFull(5 * SECOND));
+        assertTrue(bucket.isFull(10 * SECOND));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0.5, 0));
+    }
+
+}
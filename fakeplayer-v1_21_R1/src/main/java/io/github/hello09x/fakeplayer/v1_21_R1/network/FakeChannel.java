@@ -1,6 +1,7 @@
 package io.github.hello09x.fakeplayer.v1_21_R1.network;
 
 import io.netty.channel.*;
+import io.netty.util.ReferenceCountUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -8,6 +9,10 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 
+/**
+ * 假人的连接通道
+ * <p>没有任何编解码器, 写入的数据直接释放, 不经过 pipeline 也不提交任务到事件循环</p>
+ */
 public class FakeChannel extends AbstractChannel {
     private final static EventLoop EVENT_LOOP = new DefaultEventLoop();
     private final ChannelConfig config = new DefaultChannelConfig(this);
@@ -52,6 +57,34 @@ public class FakeChannel extends AbstractChannel {
         }
     }
 
+    @Override
+    public ChannelFuture write(Object msg) {
+        ReferenceCountUtil.release(msg);
+        return this.newSucceededFuture();
+    }
+
+    @Override
+    public ChannelFuture write(Object msg, ChannelPromise promise) {
+        ReferenceCountUtil.release(msg);
+        promise.trySuccess();
+        return promise;
+    }
+
+    @Override
+    public ChannelFuture writeAndFlush(Object msg) {
+        return this.write(msg);
+    }
+
+    @Override
+    public ChannelFuture writeAndFlush(Object msg, ChannelPromise promise) {
+        return this.write(msg, promise);
+    }
+
+    @Override
+    public Channel flush() {
+        return this;
+    }
+
     @Override
     public boolean isActive() {
         return true;
@@ -13,7 +13,7 @@ public class FakeConnection extends Connection {
         super(PacketFlow.SERVERBOUND);
         this.channel = new FakeChannel(null, address);
         this.address = this.channel.remoteAddress();
-        Connection.configureSerialization(this.channel.pipeline(), PacketFlow.SERVERBOUND, false, null);
+        // 不安装编解码器, 切换协议时写入的配置任务由 FakeChannel 直接丢弃
     }
 
     @Override
@@ -23,10 +23,17 @@ public class FakeConnection extends Connection {
 
     @Override
     public void send(Packet<?> packet, PacketSendListener listener) {
+        PacketAccounting.record(packet);
+    }
+
+    @Override
+    public void send(Packet<?> packet, PacketSendListener listener, boolean flush) {
+        PacketAccounting.record(packet);
     }
 
     @Override
     public void send(Packet<?> packet) {
+        PacketAccounting.record(packet);
     }
 
 //    public void setProtocolAttr(@NotNull ConnectionProtocol protocol) {
@@ -2,8 +2,9 @@ package io.github.hello09x.fakeplayer.v1_21_R1.network;
 
 import io.github.hello09x.fakeplayer.api.spi.NMSServerGamePacketListener;
 import io.github.hello09x.fakeplayer.core.Main;
-import io.github.hello09x.fakeplayer.core.manager.FakeplayerManager;
-import io.netty.buffer.Unpooled;
+import io.github.hello09x.fakeplayer.core.manager.PluginMessageForwarder;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
 import net.minecraft.network.Connection;
 import net.minecraft.network.RegistryFriendlyByteBuf;
 import net.minecraft.network.protocol.Packet;
@@ -22,7 +23,7 @@ import java.util.logging.Logger;
 
 public class FakeServerGamePacketListenerImpl extends ServerGamePacketListenerImpl implements NMSServerGamePacketListener {
 
-    private final FakeplayerManager manager = Main.getInjector().getInstance(FakeplayerManager.class);
+    private final PluginMessageForwarder forwarder = Main.getInjector().getInstance(PluginMessageForwarder.class);
     private final static Logger log = Main.getInstance().getLogger();
 
     public FakeServerGamePacketListenerImpl(
@@ -39,6 +40,7 @@ public class FakeServerGamePacketListenerImpl extends ServerGamePacketListenerIm
 
     @Override
     public void send(Packet<?> packet) {
+        PacketAccounting.record(packet);
         if (packet instanceof ClientboundCustomPayloadPacket p) {
             this.handleCustomPayloadPacket(p);
         }
@@ -52,22 +54,13 @@ public class FakeServerGamePacketListenerImpl extends ServerGamePacketListenerIm
             return;
         }
 
-        var recipient = Bukkit
-                .getOnlinePlayers()
-                .stream()
-                .filter(manager::isNotFake)
-                .findAny()
-                .orElse(null);
-        if (recipient == null) {
-            log.warning(String.format("Failed to forward a plugin message from [%s] cause non real players in the server", channel));
-            return;
+        var buf = RegistryFriendlyByteBuf.decorator(server.registryAccess()).apply(PooledByteBufAllocator.DEFAULT.buffer());
+        try {
+            ClientboundCustomPayloadPacket.GAMEPLAY_STREAM_CODEC.encode(buf, packet);
+            forwarder.forward(channel, ByteBufUtil.getBytes(buf));
+        } finally {
+            buf.release();
         }
-
-        var buf = RegistryFriendlyByteBuf.decorator(server.registryAccess()).apply(Unpooled.buffer(0, 1048576));
-        ClientboundCustomPayloadPacket.GAMEPLAY_STREAM_CODEC.encode(buf, packet);
-
-        var message = buf.array();
-        recipient.sendPluginMessage(Main.getInstance(), channel, message);
     }
 
 }
\ No newline at end of file
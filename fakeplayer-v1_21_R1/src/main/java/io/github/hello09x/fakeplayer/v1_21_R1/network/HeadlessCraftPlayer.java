@@ -0,0 +1,32 @@
+package io.github.hello09x.fakeplayer.v1_21_R1.network;
+
+import net.minecraft.server.level.ServerPlayer;
+import org.bukkit.craftbukkit.v1_21_R1.CraftServer;
+import org.bukkit.craftbukkit.v1_21_R1.entity.CraftPlayer;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 无头模式下假人的 Bukkit 实体
+ * <p>{@code ChunkMap.TrackedEntity#updatePlayer} 在把玩家加入 {@code seenBy} 之前会检查 {@code canSee}, 因此假人不会追踪任何实体,
+ * 也就不会为假人构建实体生成、移动、元数据等数据包</p>
+ * <p>同样依赖 {@code canSee} 的玩家列表、音效等广播也会跳过假人</p>
+ */
+public class HeadlessCraftPlayer extends CraftPlayer {
+
+    public HeadlessCraftPlayer(@NotNull CraftServer server, @NotNull ServerPlayer handle) {
+        super(server, handle);
+    }
+
+    @Override
+    public boolean canSee(@NotNull Entity entity) {
+        return entity == this;
+    }
+
+    @Override
+    public boolean canSee(@NotNull Player player) {
+        return this.canSee((Entity) player);
+    }
+
+}
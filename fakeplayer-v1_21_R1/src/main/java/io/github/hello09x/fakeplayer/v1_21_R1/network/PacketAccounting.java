@@ -0,0 +1,56 @@
+package io.github.hello09x.fakeplayer.v1_21_R1.network;
+
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.manager.PacketStatistics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.game.ClientGamePacketListener;
+import net.minecraft.network.protocol.game.GameProtocols;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * 统计发送给假人的数据包
+ * <p>抽样的数据包会按照游戏阶段的协议序列化一次来获取大小, 无法序列化的数据包 (例如其他阶段的数据包) 不计入大小</p>
+ */
+public class PacketAccounting {
+
+    private final static PacketStatistics statistics = Main.getInjector().getInstance(PacketStatistics.class);
+
+    private static volatile StreamCodec<ByteBuf, Packet<? super ClientGamePacketListener>> codec;
+
+    public static void record(@NotNull Packet<?> packet) {
+        var type = packet.getClass();
+        if (statistics.record(type)) {
+            statistics.recordSize(type, sizeOf(packet));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int sizeOf(@NotNull Packet<?> packet) {
+        var buf = PooledByteBufAllocator.DEFAULT.buffer();
+        try {
+            getCodec().encode(buf, (Packet<? super ClientGamePacketListener>) packet);
+            return buf.readableBytes();
+        } catch (Exception e) {
+            return -1;
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static @NotNull StreamCodec<ByteBuf, Packet<? super ClientGamePacketListener>> getCodec() {
+        var codec = PacketAccounting.codec;
+        if (codec == null) {
+            codec = GameProtocols.CLIENTBOUND
+                    .bind(RegistryFriendlyByteBuf.decorator(MinecraftServer.getServer().registryAccess()))
+                    .codec();
+            PacketAccounting.codec = codec;
+        }
+        return codec;
+    }
+
+}
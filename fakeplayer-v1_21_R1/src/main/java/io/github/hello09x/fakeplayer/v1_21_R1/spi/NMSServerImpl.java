@@ -1,22 +1,35 @@
 package io.github.hello09x.fakeplayer.v1_21_R1.spi;
 
 import com.mojang.authlib.GameProfile;
-import io.github.hello09x.bedrock.util.Worlds;
 import io.github.hello09x.fakeplayer.api.spi.NMSServer;
 import io.github.hello09x.fakeplayer.api.spi.NMSServerPlayer;
+import io.github.hello09x.fakeplayer.core.Main;
+import io.github.hello09x.fakeplayer.core.config.FakeplayerConfig;
+import io.github.hello09x.fakeplayer.core.util.Reflections;
+import io.github.hello09x.fakeplayer.v1_21_R1.network.HeadlessCraftPlayer;
 import lombok.Getter;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ClientInformation;
 import net.minecraft.server.level.ServerPlayer;
-import org.bukkit.Bukkit;
+import net.minecraft.world.entity.Entity;
 import org.bukkit.Server;
 import org.bukkit.craftbukkit.v1_21_R1.CraftServer;
+import org.bukkit.craftbukkit.v1_21_R1.entity.CraftEntity;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.Field;
 import java.util.UUID;
+import java.util.logging.Logger;
 
 public class NMSServerImpl implements NMSServer {
 
+    private final static Field Entity$bukkitEntity = Reflections.getFirstFieldByType(
+            Entity.class,
+            CraftEntity.class,
+            false
+    );
+
+    private final static Logger log = Main.getInstance().getLogger();
 
     @Getter
     private final MinecraftServer handle;
@@ -28,11 +41,31 @@ public class NMSServerImpl implements NMSServer {
     @Override
     public @NotNull NMSServerPlayer newPlayer(@NotNull UUID uuid, @NotNull String name) {
         var handle = new ServerPlayer(
-                new NMSServerImpl(Bukkit.getServer()).getHandle(),
-                new NMSServerLevelImpl(Worlds.getMainWorld()).getHandle(),
+                this.handle,
+                this.handle.overworld(),
                 new GameProfile(uuid, name),
                 ClientInformation.createDefault()
         );
+        if (Main.getInjector().getInstance(FakeplayerConfig.class).isHeadless()) {
+            this.setHeadless(handle);
+        }
         return new NMSServerPlayerImpl(handle.getBukkitEntity());
     }
+
+    /**
+     * 在玩家加入世界之前替换其 Bukkit 实体, 让实体追踪跳过这个假人
+     */
+    private void setHeadless(@NotNull ServerPlayer handle) {
+        if (Entity$bukkitEntity == null) {
+            log.warning("Failed to enable headless mode for fake player: field not found");
+            return;
+        }
+
+        try {
+            Entity$bukkitEntity.set(handle, new HeadlessCraftPlayer(this.handle.server, handle));
+        } catch (IllegalAccessException e) {
+            log.warning("Failed to enable headless mode for fake player: " + e.getMessage());
+        }
+    }
+
 }
@@ -11,6 +11,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ServerboundClientCommandPacket;
 import net.minecraft.network.protocol.game.ServerboundPlayerActionPacket;
 import net.minecraft.server.PlayerAdvancements;
+import net.minecraft.server.level.ChunkMap;
 import net.minecraft.server.level.ClientInformation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.HumanoidArm;
@@ -24,6 +25,8 @@ import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 
 public class NMSServerPlayerImpl implements NMSServerPlayer {
 
@@ -33,6 +36,16 @@ public class NMSServerPlayerImpl implements NMSServerPlayer {
             false
     );
 
+    /**
+     * {@code ChunkMap#updatePlayerStatus(ServerPlayer, boolean)}
+     */
+    private final static Method ChunkMap$updatePlayerStatus = Reflections.getOnlyMethodBySignature(
+            ChunkMap.class,
+            void.class,
+            ServerPlayer.class,
+            boolean.class
+    );
+
     @Getter
     private final ServerPlayer handle;
 
@@ -196,9 +209,12 @@ public class NMSServerPlayerImpl implements NMSServerPlayer {
 
     @Override
     public void setupClientOptions() {
+        // 假人没有客户端, 请求的视距设置为 0
+        // 开启了 auto-config-send-distance 时 Paper 以请求的视距 + 1 作为发送区块的半径, 关闭时使用世界的发送半径, 都不是 0,
+        // 因此发送半径由 FakePlayer 通过 Player#setSendViewDistance 单独设置
         var option = new ClientInformation(
                 "en_us",
-                Bukkit.getViewDistance(),
+                0,
                 ChatVisiblity.SYSTEM,
                 false,
                 ConstantPool.MODEL_CUSTOMISATION,
@@ -229,4 +245,22 @@ public class NMSServerPlayerImpl implements NMSServerPlayer {
         ));
     }
 
+    @Override
+    public boolean rejoinLevel() {
+        if (ChunkMap$updatePlayerStatus == null) {
+            return false;
+        }
+
+        // 与穿越维度时一样, 将玩家从区块追踪中移除再重新加入, 刷怪时统计的附近玩家依赖于此
+        var chunkSource = handle.serverLevel().getChunkSource();
+        try {
+            ChunkMap$updatePlayerStatus.invoke(chunkSource.chunkMap, handle, false);
+            ChunkMap$updatePlayerStatus.invoke(chunkSource.chunkMap, handle, true);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return false;
+        }
+        chunkSource.move(handle);
+        return true;
+    }
+
 }